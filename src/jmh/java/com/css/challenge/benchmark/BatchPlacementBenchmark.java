@@ -0,0 +1,104 @@
+package com.css.challenge.benchmark;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.LockingMode;
+import com.css.challenge.service.OrderManager;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares placing and picking up orders one call at a time against the batch API.
+ * The "orders" counter reports orders per millisecond, so the per-order cost can be
+ * compared directly across batch sizes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchPlacementBenchmark {
+
+    @State(Scope.Thread)
+    public static class KitchenState {
+        @Param({"1", "16", "256"})
+        public int batchSize;
+
+        @Param({"GLOBAL", "STRIPED"})
+        public LockingMode lockingMode;
+
+        OrderManager orderManager;
+        long sequence;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            orderManager = new OrderManagerImpl(
+                    new Kitchen(128, 128, 256),
+                    new DiscardingActionLogger(),
+                    new FreshnessTrackerImpl(),
+                    new CompositeDiscardStrategy(),
+                    lockingMode);
+        }
+
+        List<Order> nextBatch() {
+            List<Order> orders = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                long id = sequence++;
+                Temperature temperature = Temperature.values()[(int) (id % Temperature.values().length)];
+                orders.add(new Order(Long.toString(id), "Benchmark Order", temperature, 300));
+            }
+            return orders;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class OrderCounter {
+        public long orders;
+    }
+
+    @Benchmark
+    public Object sequential(KitchenState kitchenState, OrderCounter counter) {
+        List<Order> orders = kitchenState.nextBatch();
+        for (Order order : orders) {
+            kitchenState.orderManager.placeOrder(order);
+        }
+        Object last = null;
+        for (Order order : orders) {
+            last = kitchenState.orderManager.pickupOrder(order.getId());
+        }
+        counter.orders += orders.size();
+        return last;
+    }
+
+    @Benchmark
+    public Object batched(KitchenState kitchenState, OrderCounter counter) {
+        List<Order> orders = kitchenState.nextBatch();
+        List<String> orderIds = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderIds.add(order.getId());
+        }
+        kitchenState.orderManager.placeOrders(orders);
+        counter.orders += orders.size();
+        return kitchenState.orderManager.pickupOrders(orderIds);
+    }
+}
@@ -0,0 +1,45 @@
+package com.css.challenge.benchmark;
+
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.ActionType;
+import com.css.challenge.service.ActionLogger;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ActionLogger for benchmarks that creates the action records but does not retain or print them,
+ * so that measurements are not dominated by console output or an ever-growing log.
+ */
+public class DiscardingActionLogger implements ActionLogger {
+
+    @Override
+    public Action logAction(String orderId, ActionType actionType) {
+        return logAction(Instant.now(), orderId, actionType);
+    }
+
+    @Override
+    public Action logAction(Instant timestamp, String orderId, ActionType actionType) {
+        return new Action(timestamp, orderId, actionType);
+    }
+
+    @Override
+    public List<Action> getAllActions() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public int getActionCount() {
+        return 0;
+    }
+
+    @Override
+    public List<Action> getActionsForOrder(String orderId) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void printActionLog() {
+    }
+}
@@ -0,0 +1,84 @@
+package com.css.challenge.benchmark;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.LockingMode;
+import com.css.challenge.service.OrderManager;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the global write lock against striped per-unit locks in OrderManagerImpl.
+ * Each benchmark thread places and picks up orders of a single temperature, so threads
+ * spread across the heater, cooler and shelf the way a mixed order stream does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(6)
+public class LockingModeBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class KitchenState {
+        @Param({"GLOBAL", "STRIPED"})
+        public LockingMode lockingMode;
+
+        OrderManager orderManager;
+        final AtomicInteger nextThread = new AtomicInteger();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            orderManager = new OrderManagerImpl(
+                    new Kitchen(64, 64, 128),
+                    new DiscardingActionLogger(),
+                    new FreshnessTrackerImpl(),
+                    new CompositeDiscardStrategy(),
+                    lockingMode);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        Temperature temperature;
+        String prefix;
+        long sequence;
+
+        @Setup
+        public void setUp(KitchenState kitchenState) {
+            int thread = kitchenState.nextThread.getAndIncrement();
+            temperature = Temperature.values()[thread % Temperature.values().length];
+            prefix = "t" + thread + "-";
+        }
+
+        Order nextOrder() {
+            return new Order(prefix + sequence++, "Benchmark Order", temperature, 300);
+        }
+    }
+
+    @Benchmark
+    public Object placeAndPickup(KitchenState kitchenState, ThreadState threadState) {
+        Order order = threadState.nextOrder();
+        kitchenState.orderManager.placeOrder(order);
+        return kitchenState.orderManager.pickupOrder(order.getId());
+    }
+}
@@ -0,0 +1,77 @@
+package com.css.challenge.benchmark;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.ActionLoggerImpl;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.LockingMode;
+import com.css.challenge.service.OrderManager;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.storage.SlotLayout;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the steady-state cost of placing and picking up an order with no discards.
+ * Run with the GC profiler to see allocations per operation:
+ * <pre>./gradlew jmh -PjmhArgs="PlacementAllocationBenchmark -prof gc"</pre>
+ * Orders are created up front, so gc.alloc.rate.norm covers only the kitchen's own work:
+ * the Action record, the location index and freshness tracker map nodes, and, with the
+ * hash layout, the slot nodes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PlacementAllocationBenchmark {
+    private static final int ORDER_POOL_SIZE = 1024;
+
+    @Param({"HASH", "ARRAY", "CONFINED"})
+    public SlotLayout slotLayout;
+
+    // The benchmark runs on one thread, so every layout is valid under every locking mode
+    @Param({"GLOBAL", "STRIPED", "CONFINED"})
+    public LockingMode lockingMode;
+
+    private OrderManager orderManager;
+    private final Order[] orders = new Order[ORDER_POOL_SIZE];
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        orderManager = new OrderManagerImpl(
+                new Kitchen(64, 64, 128, slotLayout),
+                new ActionLoggerImpl(false),
+                new FreshnessTrackerImpl(),
+                new CompositeDiscardStrategy(),
+                lockingMode);
+        for (int i = 0; i < ORDER_POOL_SIZE; i++) {
+            Temperature temperature = Temperature.values()[i % Temperature.values().length];
+            orders[i] = new Order("order" + i, "Benchmark Order", temperature, 300);
+        }
+    }
+
+    @Benchmark
+    public Object placeAndPickup() {
+        Order order = orders[next];
+        next = (next + 1) % ORDER_POOL_SIZE;
+        orderManager.placeOrder(order);
+        return orderManager.pickupOrder(order.getId());
+    }
+}
@@ -0,0 +1,97 @@
+package com.css.challenge.benchmark;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.ActionLogger;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.LockingMode;
+import com.css.challenge.service.OrderManager;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.service.ShardedOrderManager;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how throughput scales with the number of kitchen shards.
+ * Every thread places and picks up orders of all temperatures, so with a single shard
+ * all threads share one kitchen and with more shards they spread across independent ones.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ShardedKitchenBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class KitchenState {
+        @Param({"1", "2", "4", "8"})
+        public int shardCount;
+
+        @Param({"GLOBAL", "STRIPED"})
+        public LockingMode lockingMode;
+
+        OrderManager orderManager;
+        final AtomicInteger nextThread = new AtomicInteger();
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            List<OrderManager> shards = new ArrayList<>(shardCount);
+            List<ActionLogger> shardLoggers = new ArrayList<>(shardCount);
+            for (int i = 0; i < shardCount; i++) {
+                ActionLogger shardLogger = new DiscardingActionLogger();
+                shards.add(new OrderManagerImpl(
+                        new Kitchen(64, 64, 128),
+                        shardLogger,
+                        new FreshnessTrackerImpl(),
+                        new CompositeDiscardStrategy(),
+                        lockingMode));
+                shardLoggers.add(shardLogger);
+            }
+            orderManager = new ShardedOrderManager(shards, shardLoggers, null);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        String prefix;
+        long sequence;
+
+        @Setup
+        public void setUp(KitchenState kitchenState) {
+            prefix = "t" + kitchenState.nextThread.getAndIncrement() + "-";
+        }
+
+        Order nextOrder() {
+            long id = sequence++;
+            Temperature temperature = Temperature.values()[(int) (id % Temperature.values().length)];
+            return new Order(prefix + id, "Benchmark Order", temperature, 300);
+        }
+    }
+
+    @Benchmark
+    public Object placeAndPickup(KitchenState kitchenState, ThreadState threadState) {
+        Order order = threadState.nextOrder();
+        kitchenState.orderManager.placeOrder(order);
+        return kitchenState.orderManager.pickupOrder(order.getId());
+    }
+}
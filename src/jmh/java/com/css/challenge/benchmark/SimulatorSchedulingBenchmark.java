@@ -0,0 +1,87 @@
+package com.css.challenge.benchmark;
+
+import com.css.challenge.client.SchedulingMode;
+import com.css.challenge.client.Simulator;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.LockingMode;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the simulator's scheduling modes with every order in flight at once.
+ * All orders are placed immediately and picked up 100-200 ms later, so the score is the time
+ * to push the whole burst through the scheduler on top of the 200 ms the last pickup waits.
+ * Secondary results report the p99 pickup lateness in microseconds and the deepest the
+ * scheduler queue got.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SimulatorSchedulingBenchmark {
+
+    @State(Scope.Thread)
+    public static class SimulationState {
+        @Param({"10000", "50000"})
+        public int orderCount;
+
+        @Param({"POOL", "VIRTUAL_THREADS"})
+        public SchedulingMode schedulingMode;
+
+        Simulator simulator;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            List<Order> orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) {
+                Temperature temperature = Temperature.values()[i % Temperature.values().length];
+                orders.add(new Order("order" + i, "Benchmark Order", temperature, 300));
+            }
+            OrderManagerImpl orderManager = new OrderManagerImpl(
+                    new Kitchen(orderCount, orderCount, orderCount),
+                    new DiscardingActionLogger(),
+                    new FreshnessTrackerImpl(),
+                    new CompositeDiscardStrategy(),
+                    LockingMode.STRIPED);
+            simulator = new Simulator(
+                    orders, orderManager, new DiscardingActionLogger(), 0, 100, 200, orderCount, schedulingMode);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class SchedulingCounters {
+        public long p99PickupLatenessMicros;
+        public long maxQueueDepth;
+    }
+
+    @Benchmark
+    public Object run(SimulationState simulationState, SchedulingCounters counters) throws Exception {
+        Simulator simulator = simulationState.simulator;
+        Object actions = simulator.run();
+        counters.p99PickupLatenessMicros = simulator.getPickupLateness().getValueAtPercentile(99) / 1_000;
+        counters.maxQueueDepth = simulator.getMaxQueueDepth();
+        return actions;
+    }
+}
@@ -0,0 +1,90 @@
+package com.css.challenge.benchmark;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.LockingMode;
+import com.css.challenge.service.OrderManager;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures status reads against a kitchen under concurrent writes, with a 95/5 read/write
+ * thread mix. Readers poll orderExists and getOrderLocation over a pool of order IDs
+ * while the writer keeps placing and picking up orders from the same pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusReadBenchmark {
+    private static final int ORDER_POOL_SIZE = 256;
+
+    @State(Scope.Group)
+    public static class KitchenState {
+        @Param({"GLOBAL", "STRIPED"})
+        public LockingMode lockingMode;
+
+        OrderManager orderManager;
+        final String[] orderIds = new String[ORDER_POOL_SIZE];
+        int nextWrite;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            orderManager = new OrderManagerImpl(
+                    new Kitchen(64, 64, 128),
+                    new DiscardingActionLogger(),
+                    new FreshnessTrackerImpl(),
+                    new CompositeDiscardStrategy(),
+                    lockingMode);
+            for (int i = 0; i < ORDER_POOL_SIZE; i++) {
+                orderIds[i] = "order" + i;
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(19)
+    public Object read(KitchenState kitchenState) {
+        String orderId = kitchenState.orderIds[ThreadLocalRandom.current().nextInt(ORDER_POOL_SIZE)];
+        if (kitchenState.orderManager.orderExists(orderId)) {
+            return kitchenState.orderManager.getOrderLocation(orderId);
+        }
+        return null;
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Object write(KitchenState kitchenState) {
+        // Only the single writer thread touches nextWrite
+        int slot = kitchenState.nextWrite;
+        kitchenState.nextWrite = (slot + 1) % ORDER_POOL_SIZE;
+        String orderId = kitchenState.orderIds[slot];
+        if (kitchenState.orderManager.pickupOrder(orderId).isPresent()) {
+            return null;
+        }
+        Temperature temperature = Temperature.values()[slot % Temperature.values().length];
+        return kitchenState.orderManager.placeOrder(new Order(orderId, "Benchmark Order", temperature, 300));
+    }
+}
@@ -1,31 +1,73 @@
 package com.css.challenge;
 
+import com.css.challenge.clock.CachedClock;
+import com.css.challenge.clock.Clock;
+import com.css.challenge.clock.VirtualClock;
 import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.StorageType;
+import com.css.challenge.domain.Temperature;
 import com.css.challenge.exception.InvalidOrderException;
+import com.css.challenge.load.ArrivalProcess;
+import com.css.challenge.load.DelayDistribution;
+import com.css.challenge.load.EmpiricalDelay;
+import com.css.challenge.load.FixedRateArrivals;
+import com.css.challenge.load.LoadGenerator;
+import com.css.challenge.load.LogNormalDelay;
+import com.css.challenge.load.OnOffArrivals;
+import com.css.challenge.load.PoissonArrivals;
+import com.css.challenge.load.TraceArrivals;
+import com.css.challenge.load.UniformDelay;
 import com.css.challenge.service.ActionLogger;
 import com.css.challenge.service.ActionLoggerImpl;
+import com.css.challenge.service.ExpiryTimerWheel;
 import com.css.challenge.service.FreshnessTracker;
 import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.LockingMode;
+import com.css.challenge.service.OrderLifecycleListener;
 import com.css.challenge.service.OrderManager;
 import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.service.ShardedOrderManager;
+import com.css.challenge.service.ShelfRebalancer;
+import com.css.challenge.service.SingleWriterOrderManager;
 import com.css.challenge.storage.Kitchen;
+import com.css.challenge.storage.PlacementPolicy;
+import com.css.challenge.storage.SlotLayout;
+import com.css.challenge.storage.StorageUnit;
 import com.css.challenge.strategy.CompositeDiscardStrategy;
 import com.css.challenge.strategy.DiscardStrategy;
 import com.css.challenge.strategy.FreshnessDiscardStrategy;
 import com.css.challenge.strategy.TemperatureMismatchDiscardStrategy;
 import com.css.challenge.client.Client;
+import com.css.challenge.client.DiscreteEventSimulator;
+import com.css.challenge.client.ProblemTrace;
+import com.css.challenge.client.ProblemTraceReader;
+import com.css.challenge.client.SchedulingMode;
 import com.css.challenge.client.Problem;
 import com.css.challenge.client.Simulator;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
 
 /**
  * Main entry point for the kitchen order fulfillment system.
@@ -37,14 +79,35 @@ import picocli.CommandLine.Option;
         version = "1.0.0")
 public class Main implements Callable<Integer> {
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+    // Bursty arrivals come at four times the average rate, in rushes a quarter of the time
+    private static final double MEAN_RUSH_MILLIS = 2000;
+    private static final double MEAN_QUIET_MILLIS = 6000;
 
     @Option(names = {"-e", "--endpoint"}, description = "API endpoint URL")
     private String endpoint = "https://api.cloudkitchens.com";
 
-    @Option(names = {"-a", "--auth"}, description = "Authentication token (required)", required = true)
+    @Option(names = {"-a", "--auth"}, description = "Authentication token (required unless replaying)")
     private String auth;
 
-    @Option(names = {"-s", "--seed"}, description = "Random seed (0 for random)")
+    @Option(names = {"--record"}, description = "Record the fetched problem and options to a trace file")
+    private Path recordPath;
+
+    @Option(names = {"--replay"}, description = "Replay a recorded trace file with its options instead of fetching a problem")
+    private Path replayPath;
+
+    // Start of the recorded trace being replayed, if any
+    private Instant replayStart;
+
+    // Components owning threads, closed in reverse creation order when the run ends
+    private final Deque<AutoCloseable> closeables = new ArrayDeque<>();
+
+    // Options recorded in a trace, which a replay takes from the trace instead
+    private static final String[] RECORDED_OPTIONS = {"--seed", "--rate", "--min", "--max"};
+
+    @Spec
+    private CommandSpec spec;
+
+    @Option(names = {"-s", "--seed"}, description = "Random seed (0 to draw one at random)")
     private long seed = 0;
 
     @Option(names = {"-r", "--rate"}, description = "Order rate in milliseconds")
@@ -56,9 +119,30 @@ public class Main implements Callable<Integer> {
     @Option(names = {"--max"}, description = "Maximum pickup time in milliseconds")
     private int maxPickupMs = 8000;
 
+    @Option(names = {"--max-in-flight"}, description = "Maximum orders in flight before placement slows down")
+    private int maxInFlight = Simulator.DEFAULT_MAX_IN_FLIGHT;
+
+    @Option(names = {"--scheduling"}, description = "Simulator scheduling: pool, virtual-threads")
+    private String schedulingModeName = "pool";
+
+    @Option(names = {"--arrivals"}, description = "Open-loop arrival process: fixed, poisson, bursty")
+    private String arrivalsName = "fixed";
+
+    @Option(names = {"--arrival-trace"}, description = "Open-loop arrivals replayed from a file of millisecond timestamps")
+    private Path arrivalTrace;
+
+    @Option(names = {"--pickup-delay"}, description = "Pickup delay distribution between --min and --max: uniform, lognormal")
+    private String pickupDelayName = "uniform";
+
+    @Option(names = {"--pickup-delay-samples"}, description = "Open-loop pickup delays drawn from a file of millisecond samples")
+    private Path pickupDelaySamples;
+
     @Option(names = {"-d", "--discard-strategy"}, description = "Discard strategy: freshness, temperature, composite")
     private String discardStrategyName = "composite";
 
+    @Option(names = {"-l", "--locking"}, description = "Locking mode: global, striped")
+    private String lockingModeName = "global";
+
     @Option(names = {"--heater-capacity"}, description = "Heater capacity")
     private int heaterCapacity = 6;
 
@@ -68,6 +152,42 @@ public class Main implements Callable<Integer> {
     @Option(names = {"--shelf-capacity"}, description = "Shelf capacity")
     private int shelfCapacity = 12;
 
+    @Option(names = {"--heaters"}, description = "Number of heaters")
+    private int heaterCount = 1;
+
+    @Option(names = {"--coolers"}, description = "Number of coolers")
+    private int coolerCount = 1;
+
+    @Option(names = {"--shelves"}, description = "Number of shelves")
+    private int shelfCount = 1;
+
+    @Option(names = {"--placement"}, description = "Placement across units of the same type: least-occupied, round-robin")
+    private String placementPolicyName = "least-occupied";
+
+    @Option(names = {"--storage-layout"}, description = "Storage unit layout: hash, array (single-writer mode always uses a confined array)")
+    private String slotLayoutName = "hash";
+
+    @Option(names = {"--shards"}, description = "Number of independent kitchen shards orders are partitioned across")
+    private int shardCount = 1;
+
+    @Option(names = {"--shard-key"}, description = "Key orders are partitioned across shards by: id, name")
+    private String shardKeyName = "id";
+
+    @Option(names = {"--single-writer"}, description = "Apply every order operation on a single owner thread instead of locking")
+    private boolean singleWriter = false;
+
+    @Option(names = {"--rebalance"}, description = "Move shelf orders to their ideal storage as soon as it frees up")
+    private boolean rebalance = false;
+
+    @Option(names = {"--discard-expired"}, description = "Discard orders as soon as they expire")
+    private boolean discardExpired = false;
+
+    @Option(names = {"--clock"}, description = "Clock for freshness and action timestamps: system, cached")
+    private String clockName = "system";
+
+    @Option(names = {"--discrete-event"}, description = "Simulate in virtual time, as fast as orders can be processed")
+    private boolean discreteEvent = false;
+
     @Option(names = {"-v", "--verbose"}, description = "Enable verbose output")
     private boolean verbose = false;
 
@@ -88,50 +208,153 @@ public class Main implements Callable<Integer> {
      */
     @Override
     public Integer call() {
-        try {
-            // Initialize components
-            Kitchen kitchen = new Kitchen(heaterCapacity, coolerCapacity, shelfCapacity);
-            ActionLogger actionLogger = new ActionLoggerImpl();
-            FreshnessTracker freshnessTracker = new FreshnessTrackerImpl();
-            DiscardStrategy discardStrategy = createDiscardStrategy();
+        try (ProblemTraceReader traceReader = openReplay()) {
+            // Validate parameters before building the kitchen from them
+            validateParameters();
 
-            OrderManager orderManager = new OrderManagerImpl(
-                    kitchen,
-                    actionLogger,
-                    freshnessTracker,
-                    discardStrategy);
+            // A run without a seed still gets a concrete one, so that it can be recorded and replayed
+            if (seed == 0) {
+                seed = drawSeed();
+                LOGGER.info("Drew random seed {}", seed);
+            }
 
-            // Validate parameters
-            validateParameters();
+            // Initialize components
+            DiscardStrategy discardStrategy = createDiscardStrategy();
+            Clock clock = createClock();
+            ActionLogger actionLogger;
+            OrderManager orderManager;
+
+            if (shardCount > 1) {
+                ShardedOrderManager shardedOrderManager = ShardedOrderManager.create(
+                        shardCount,
+                        this::createKitchen,
+                        this::createDiscardStrategy,
+                        createLockingMode(),
+                        createShardKey(),
+                        clock,
+                        !discreteEvent);
+                actionLogger = shardedOrderManager.getActionLogger();
+                orderManager = shardedOrderManager;
+            } else if (singleWriter) {
+                Kitchen kitchen = createKitchen();
+                FreshnessTracker freshnessTracker = new FreshnessTrackerImpl(clock);
+                actionLogger = new ActionLoggerImpl(clock, !discreteEvent);
+                SingleWriterOrderManager singleWriterOrderManager = closeOnExit(new SingleWriterOrderManager(
+                        kitchen,
+                        actionLogger,
+                        freshnessTracker,
+                        discardStrategy));
+                addLifecycleListeners(
+                        singleWriterOrderManager::addLifecycleListener,
+                        singleWriterOrderManager,
+                        kitchen,
+                        freshnessTracker,
+                        clock);
+                orderManager = singleWriterOrderManager;
+            } else {
+                Kitchen kitchen = createKitchen();
+                FreshnessTracker freshnessTracker = new FreshnessTrackerImpl(clock);
+                actionLogger = new ActionLoggerImpl(clock, !discreteEvent);
+                OrderManagerImpl orderManagerImpl = new OrderManagerImpl(
+                        kitchen,
+                        actionLogger,
+                        freshnessTracker,
+                        discardStrategy,
+                        createLockingMode());
+                addLifecycleListeners(
+                        orderManagerImpl::addLifecycleListener,
+                        orderManagerImpl,
+                        kitchen,
+                        freshnessTracker,
+                        clock);
+                orderManager = orderManagerImpl;
+            }
 
             // Print configuration
             if (verbose) {
                 printConfiguration(discardStrategy);
             }
 
-            // Fetch problem from server
-            Client client = new Client(endpoint, auth);
-            Problem problem = client.newProblem(seed);
+            // Fetch the problem from the server, or stream a recorded one
+            Client client = null;
+            String testId;
+            Iterable<Order> orders;
+            if (traceReader != null) {
+                testId = traceReader.getHeader().getTestId();
+                orders = traceReader;
+                LOGGER.info("Replaying test problem {} from {}", testId, replayPath);
+            } else {
+                client = new Client(endpoint, auth);
+                Problem problem = client.newProblem(seed);
+
+                // Log problem details
+                LOGGER.info("Received test problem: id={}, orders={}", problem.getTestId(), problem.getOrderCount());
+                LOGGER.info("Received test problem with {} orders (ID: {})",
+                        problem.getOrderCount(), problem.getTestId());
+
+                if (recordPath != null) {
+                    ProblemTrace header = new ProblemTrace(
+                            problem.getTestId(),
+                            seed,
+                            rateMs,
+                            minPickupMs,
+                            maxPickupMs,
+                            Clock.system().currentTimeMicros());
+                    ProblemTrace.write(recordPath, header, problem.getOrders());
+                    LOGGER.info("Recorded test problem to {}", recordPath);
+                }
+                testId = problem.getTestId();
+                orders = problem.getOrders();
+            }
 
-            // Log problem details
-            LOGGER.info("Received test problem: id={}, orders={}", problem.getTestId(), problem.getOrderCount());
-            LOGGER.info("Received test problem with {} orders (ID: {})",
-                    problem.getOrderCount(), problem.getTestId());
+            if (isOpenLoop()) {
+                LoadGenerator loadGenerator = new LoadGenerator(
+                        orders,
+                        orderManager,
+                        actionLogger,
+                        createArrivalProcess(),
+                        createPickupDelays(),
+                        seed);
+                loadGenerator.run();
+                LOGGER.info("Open-loop runs are not submitted, since their schedule does not follow the fixed rate");
+                return 0;
+            }
 
             // Run simulation
-            Simulator simulator = new Simulator(
-                    problem.getOrders(),
-                    orderManager,
-                    actionLogger,
-                    rateMs,
-                    minPickupMs,
-                    maxPickupMs);
+            List<Action> actions;
+            if (clock instanceof VirtualClock virtualClock) {
+                DiscreteEventSimulator simulator = new DiscreteEventSimulator(
+                        orders,
+                        orderManager,
+                        actionLogger,
+                        virtualClock,
+                        rateMs,
+                        minPickupMs,
+                        maxPickupMs,
+                        new Random(seed));
+                actions = simulator.run();
+            } else {
+                Simulator simulator = new Simulator(
+                        orders,
+                        orderManager,
+                        actionLogger,
+                        rateMs,
+                        minPickupMs,
+                        maxPickupMs,
+                        maxInFlight,
+                        createSchedulingMode(),
+                        new Random(seed));
+                actions = simulator.run();
+            }
 
-            List<Action> actions = simulator.run();
+            if (client == null) {
+                LOGGER.info("Replayed runs are not submitted");
+                return 0;
+            }
 
             // Submit solution
             String result = client.solveProblem(
-                    problem.getTestId(),
+                    testId,
                     Duration.ofMillis(rateMs),
                     Duration.ofMillis(minPickupMs),
                     Duration.ofMillis(maxPickupMs),
@@ -149,6 +372,97 @@ public class Main implements Callable<Integer> {
             }
 
             return 1; // Error
+        } finally {
+            closeAll();
+        }
+    }
+
+    /**
+     * Registers a component to be closed when the run ends.
+     *
+     * @param closeable The component to close
+     * @return The same component
+     */
+    private <T extends AutoCloseable> T closeOnExit(T closeable) {
+        closeables.push(closeable);
+        return closeable;
+    }
+
+    /**
+     * Closes every registered component, most recently created first, so listeners stop
+     * before the order manager they act through and the clock goes last.
+     */
+    private void closeAll() {
+        while (!closeables.isEmpty()) {
+            AutoCloseable closeable = closeables.pop();
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                LOGGER.warn("Failed to close {}", closeable, e);
+            }
+        }
+    }
+
+    /**
+     * Opens the trace to replay, if any, and takes over the options it was recorded with.
+     *
+     * @return The trace reader, or null if no trace is replayed
+     * @throws IOException If the trace cannot be read
+     */
+    private ProblemTraceReader openReplay() throws IOException {
+        if (replayPath == null) {
+            return null;
+        }
+
+        for (String option : RECORDED_OPTIONS) {
+            if (spec.commandLine().getParseResult().hasMatchedOption(option)) {
+                throw new InvalidOrderException(option + " cannot be combined with --replay, which uses the recorded value");
+            }
+        }
+
+        ProblemTraceReader traceReader = new ProblemTraceReader(replayPath);
+        ProblemTrace header = traceReader.getHeader();
+        seed = header.getSeed();
+        rateMs = header.getRateMs();
+        minPickupMs = header.getMinPickupMs();
+        maxPickupMs = header.getMaxPickupMs();
+        replayStart = Instant.EPOCH.plus(header.getRecordedAtMicros(), ChronoUnit.MICROS);
+        return traceReader;
+    }
+
+    /**
+     * Draws a random non-zero seed, since a seed of zero asks for an unseeded run.
+     *
+     * @return The seed
+     */
+    private static long drawSeed() {
+        long drawn;
+        do {
+            drawn = new SplittableRandom().nextLong();
+        } while (drawn == 0);
+        return drawn;
+    }
+
+    /**
+     * Registers the optional lifecycle listeners enabled on the command line.
+     *
+     * @param register Registers a listener with the order manager
+     * @param orderManager The order manager the listeners act through
+     * @param kitchen The kitchen managed by the order manager
+     * @param freshnessTracker The tracker for order freshness
+     * @param clock The clock of the freshness tracker
+     */
+    private void addLifecycleListeners(
+            Consumer<OrderLifecycleListener> register,
+            OrderManager orderManager,
+            Kitchen kitchen,
+            FreshnessTracker freshnessTracker,
+            Clock clock) {
+        if (rebalance) {
+            register.accept(closeOnExit(new ShelfRebalancer(orderManager, kitchen, freshnessTracker)));
+        }
+        if (discardExpired) {
+            register.accept(closeOnExit(new ExpiryTimerWheel(orderManager, freshnessTracker, clock)));
         }
     }
 
@@ -165,12 +479,172 @@ public class Main implements Callable<Integer> {
         };
     }
 
+    /**
+     * Creates a clock based on the specified clock name, or a virtual clock for a
+     * discrete-event simulation.
+     *
+     * @return The configured clock
+     */
+    private Clock createClock() {
+        if (discreteEvent) {
+            // A replay starts at the recorded time, so its action timestamps repeat exactly
+            return replayStart != null ? new VirtualClock(replayStart) : new VirtualClock();
+        }
+        return switch (clockName.toLowerCase()) {
+            case "cached" -> closeOnExit(new CachedClock());
+            default -> Clock.system();
+        };
+    }
+
+    /**
+     * Creates a simulator scheduling mode based on the specified mode name.
+     *
+     * @return The configured scheduling mode
+     */
+    private SchedulingMode createSchedulingMode() {
+        return switch (schedulingModeName.toLowerCase()) {
+            case "virtual-threads" -> SchedulingMode.VIRTUAL_THREADS;
+            default -> SchedulingMode.POOL;
+        };
+    }
+
+    /**
+     * Checks if the orders should be driven open-loop by the load generator rather than the simulator.
+     *
+     * @return true if a non-default arrival process or pickup delay distribution is configured
+     */
+    private boolean isOpenLoop() {
+        return arrivalTrace != null
+                || pickupDelaySamples != null
+                || !arrivalsName.equalsIgnoreCase("fixed")
+                || !pickupDelayName.equalsIgnoreCase("uniform");
+    }
+
+    /**
+     * Creates an arrival process based on the specified process name, or from the arrival trace.
+     * Generated processes average one arrival per configured rate.
+     *
+     * @return The configured arrival process
+     * @throws IOException If the arrival trace cannot be read
+     */
+    private ArrivalProcess createArrivalProcess() throws IOException {
+        if (arrivalTrace != null) {
+            return TraceArrivals.read(arrivalTrace);
+        }
+        return switch (arrivalsName.toLowerCase()) {
+            case "poisson" -> new PoissonArrivals(rateMs);
+            case "bursty" -> new OnOffArrivals(
+                    rateMs * MEAN_RUSH_MILLIS / (MEAN_RUSH_MILLIS + MEAN_QUIET_MILLIS),
+                    MEAN_RUSH_MILLIS,
+                    MEAN_QUIET_MILLIS);
+            default -> new FixedRateArrivals(rateMs);
+        };
+    }
+
+    /**
+     * Creates a pickup delay distribution based on the specified distribution name, or from
+     * the pickup delay samples.
+     *
+     * @return The configured pickup delay distribution
+     * @throws IOException If the pickup delay samples cannot be read
+     */
+    private DelayDistribution createPickupDelays() throws IOException {
+        if (pickupDelaySamples != null) {
+            return EmpiricalDelay.read(pickupDelaySamples);
+        }
+        return switch (pickupDelayName.toLowerCase()) {
+            case "lognormal" -> LogNormalDelay.fitting(minPickupMs, maxPickupMs);
+            default -> new UniformDelay(minPickupMs, maxPickupMs);
+        };
+    }
+
+    /**
+     * Creates a shard key based on the specified key name.
+     *
+     * @return The configured shard key, or null to shard orders by ID
+     */
+    private Function<Order, String> createShardKey() {
+        return switch (shardKeyName.toLowerCase()) {
+            case "name" -> Order::getName;
+            default -> null;
+        };
+    }
+
+    /**
+     * Creates a locking mode based on the specified mode name.
+     *
+     * @return The configured locking mode
+     */
+    private LockingMode createLockingMode() {
+        return switch (lockingModeName.toLowerCase()) {
+            case "striped" -> LockingMode.STRIPED;
+            default -> LockingMode.GLOBAL;
+        };
+    }
+
+    /**
+     * Creates a kitchen with the configured number of heaters, coolers and shelves.
+     *
+     * @return The configured kitchen
+     */
+    private Kitchen createKitchen() {
+        SlotLayout layout = createSlotLayout();
+        List<StorageUnit> units = new ArrayList<>();
+        for (int i = 0; i < heaterCount; i++) {
+            units.add(new StorageUnit(StorageType.HEATER, Temperature.HOT, heaterCapacity, layout));
+        }
+        for (int i = 0; i < coolerCount; i++) {
+            units.add(new StorageUnit(StorageType.COOLER, Temperature.COLD, coolerCapacity, layout));
+        }
+        for (int i = 0; i < shelfCount; i++) {
+            units.add(new StorageUnit(StorageType.SHELF, Temperature.ROOM, shelfCapacity, layout));
+        }
+        return new Kitchen(units, createPlacementPolicy());
+    }
+
+    /**
+     * Creates a placement policy based on the specified policy name.
+     *
+     * @return The configured placement policy
+     */
+    private PlacementPolicy createPlacementPolicy() {
+        return switch (placementPolicyName.toLowerCase()) {
+            case "round-robin" -> PlacementPolicy.ROUND_ROBIN;
+            default -> PlacementPolicy.LEAST_OCCUPIED;
+        };
+    }
+
+    /**
+     * Creates a slot layout based on the specified layout name, or the confined layout
+     * for a single writer.
+     *
+     * @return The configured slot layout
+     */
+    private SlotLayout createSlotLayout() {
+        // Only the single writer's owner thread changes the units, so they need no synchronization
+        if (singleWriter) {
+            return SlotLayout.CONFINED;
+        }
+        return switch (slotLayoutName.toLowerCase()) {
+            case "array" -> SlotLayout.ARRAY;
+            default -> SlotLayout.HASH;
+        };
+    }
+
     /**
      * Validates command-line parameters.
      *
      * @throws InvalidOrderException If parameters are invalid
      */
     private void validateParameters() {
+        if (replayPath == null && (auth == null || auth.isBlank())) {
+            throw new InvalidOrderException("Authentication token is required unless replaying a trace");
+        }
+
+        if (replayPath != null && recordPath != null) {
+            throw new InvalidOrderException("A replayed trace cannot be recorded again");
+        }
+
         if (rateMs <= 0) {
             throw new InvalidOrderException("Rate must be greater than zero");
         }
@@ -187,9 +661,38 @@ public class Main implements Callable<Integer> {
             throw new InvalidOrderException("Minimum pickup time must be less than maximum pickup time");
         }
 
+        if (maxInFlight <= 0) {
+            throw new InvalidOrderException("Maximum orders in flight must be greater than zero");
+        }
+
         if (heaterCapacity <= 0 || coolerCapacity <= 0 || shelfCapacity <= 0) {
             throw new InvalidOrderException("Storage capacities must be greater than zero");
         }
+
+        if (heaterCount <= 0 || coolerCount <= 0 || shelfCount <= 0) {
+            throw new InvalidOrderException("Storage unit counts must be greater than zero");
+        }
+
+        if (shardCount <= 0) {
+            throw new InvalidOrderException("Shard count must be greater than zero");
+        }
+
+        if (singleWriter && shardCount > 1) {
+            throw new InvalidOrderException("Single-writer mode cannot be combined with multiple shards");
+        }
+
+        if ((rebalance || discardExpired) && shardCount > 1) {
+            throw new InvalidOrderException("Rebalancing and expiry discards cannot be combined with multiple shards");
+        }
+
+        if (discreteEvent && isOpenLoop()) {
+            throw new InvalidOrderException("Discrete-event simulation cannot be combined with open-loop arrivals");
+        }
+
+        if (discreteEvent && (shardCount > 1 || rebalance || discardExpired)) {
+            throw new InvalidOrderException(
+                    "Discrete-event simulation cannot be combined with shards, rebalancing or expiry discards");
+        }
     }
 
     /**
@@ -199,14 +702,26 @@ public class Main implements Callable<Integer> {
      */
     private void printConfiguration(DiscardStrategy discardStrategy) {
         LOGGER.info("Configuration:");
-        LOGGER.info("  - Endpoint: {}", endpoint);
-        LOGGER.info("  - Seed: {}", (seed == 0 ? "random" : seed));
+        LOGGER.info("  - Endpoint: {}", replayPath != null ? "none (replaying " + replayPath + ")" : endpoint);
+        LOGGER.info("  - Seed: {}", seed);
         LOGGER.info("  - Rate: {} ms", rateMs);
         LOGGER.info("  - Pickup time: {} - {} ms",minPickupMs,maxPickupMs);
+        LOGGER.info("  - Max in flight: {}", maxInFlight);
+        LOGGER.info("  - Scheduling: {}", createSchedulingMode());
+        LOGGER.info("  - Arrivals: {}", arrivalTrace != null ? arrivalTrace : arrivalsName.toLowerCase());
+        LOGGER.info("  - Pickup delay: {}", pickupDelaySamples != null ? pickupDelaySamples : pickupDelayName.toLowerCase());
         LOGGER.info("  - Discard strategy: {}", discardStrategy.getClass().getSimpleName());
+        LOGGER.info("  - Locking mode: {}", singleWriter ? "single writer" : createLockingMode());
+        LOGGER.info("  - Storage layout: {}", createSlotLayout());
+        LOGGER.info("  - Placement policy: {}", createPlacementPolicy());
+        LOGGER.info("  - Shards: {} by {}", shardCount, shardKeyName.toLowerCase());
+        LOGGER.info("  - Clock: {}", discreteEvent ? "virtual" : clockName.toLowerCase());
+        LOGGER.info("  - Simulation: {}", discreteEvent ? "discrete-event" : "real-time");
+        LOGGER.info("  - Rebalancing: {}", rebalance ? "enabled" : "disabled");
+        LOGGER.info("  - Expiry discards: {}", discardExpired ? "enabled" : "disabled");
         LOGGER.info("  - Storage capacities:");
-        LOGGER.info("    * Heater: {}", heaterCapacity);
-        LOGGER.info("    * Cooler: {}" ,coolerCapacity);
-        LOGGER.info("    * Shelf: {}", shelfCapacity);
+        LOGGER.info("    * Heater: {} x {}", heaterCount, heaterCapacity);
+        LOGGER.info("    * Cooler: {} x {}", coolerCount, coolerCapacity);
+        LOGGER.info("    * Shelf: {} x {}", shelfCount, shelfCapacity);
     }
 }
\ No newline at end of file
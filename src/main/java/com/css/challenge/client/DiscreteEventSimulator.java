@@ -0,0 +1,137 @@
+package com.css.challenge.client;
+
+import com.css.challenge.clock.VirtualClock;
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+import com.css.challenge.service.ActionLogger;
+import com.css.challenge.service.OrderManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Simulator that processes orders in virtual time instead of waiting in real time.
+ * Placements and pickups happen on the calling thread in timestamp order, and the virtual
+ * clock is advanced to each one before it runs, so the action log looks as it would after
+ * a real-time run while the simulation runs as fast as the order manager allows.
+ * The order manager's freshness tracker and action logger must share the virtual clock.
+ */
+public class DiscreteEventSimulator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiscreteEventSimulator.class);
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final Iterable<Order> orders;
+    private final OrderManager orderManager;
+    private final ActionLogger actionLogger;
+    private final VirtualClock clock;
+    private final int rateMs;
+    private final int minPickupTimeMs;
+    private final int maxPickupTimeMs;
+    private final Random random;
+
+    // Pending pickups, earliest first; placements are generated in order instead of queued up front
+    private final PriorityQueue<PickupEvent> pickups = new PriorityQueue<>(
+            Comparator.comparingLong((PickupEvent event) -> event.timeNanos).thenComparingLong(event -> event.sequence));
+    private long pickupSequence;
+
+    /**
+     * Creates a new discrete-event simulator.
+     *
+     * @param orders The orders to process, iterated once
+     * @param orderManager The order manager to use
+     * @param actionLogger The action logger to use
+     * @param clock The virtual clock shared with the order manager
+     * @param rateMs The rate at which to place orders (in milliseconds)
+     * @param minPickupTimeMs The minimum time to wait before pickup (in milliseconds)
+     * @param maxPickupTimeMs The maximum time to wait before pickup (in milliseconds)
+     * @param random The source of pickup delays
+     */
+    public DiscreteEventSimulator(
+            Iterable<Order> orders,
+            OrderManager orderManager,
+            ActionLogger actionLogger,
+            VirtualClock clock,
+            int rateMs,
+            int minPickupTimeMs,
+            int maxPickupTimeMs,
+            Random random) {
+        this.orders = orders;
+        this.orderManager = orderManager;
+        this.actionLogger = actionLogger;
+        this.clock = clock;
+        this.rateMs = rateMs;
+        this.minPickupTimeMs = minPickupTimeMs;
+        this.maxPickupTimeMs = maxPickupTimeMs;
+        this.random = random;
+    }
+
+    /**
+     * Runs the simulation to completion.
+     *
+     * @return List of actions performed during the simulation
+     */
+    public List<Action> run() {
+        LOGGER.info("Starting discrete-event simulation...");
+        LOGGER.info("Placement rate: 1 order every {} ms", rateMs);
+        LOGGER.info("Pickup time: {} - {} ms after placement", minPickupTimeMs, maxPickupTimeMs);
+
+        long startNanos = clock.nanoTime();
+        Iterator<Order> iterator = orders.iterator();
+        long nextOrder = 0;
+        while (iterator.hasNext() || !pickups.isEmpty()) {
+            long placementNanos = iterator.hasNext()
+                    ? startNanos + nextOrder * rateMs * NANOS_PER_MILLI
+                    : Long.MAX_VALUE;
+            PickupEvent pickup = pickups.peek();
+
+            // A placement goes before a pickup due at the same time
+            if (pickup == null || placementNanos <= pickup.timeNanos) {
+                clock.advanceTo(placementNanos);
+                placeOrder(iterator.next());
+                nextOrder++;
+            } else {
+                pickups.poll();
+                clock.advanceTo(pickup.timeNanos);
+                orderManager.pickupOrder(pickup.orderId);
+            }
+        }
+
+        LOGGER.info("Discrete-event simulation complete. Processed {} orders.", nextOrder);
+
+        return actionLogger.getAllActions();
+    }
+
+    /**
+     * Places an order and schedules its pickup.
+     *
+     * @param order The order to place
+     */
+    private void placeOrder(Order order) {
+        orderManager.placeOrder(order);
+
+        int pickupDelay = minPickupTimeMs + random.nextInt(maxPickupTimeMs - minPickupTimeMs + 1);
+        long pickupNanos = clock.nanoTime() + pickupDelay * NANOS_PER_MILLI;
+        pickups.add(new PickupEvent(pickupNanos, pickupSequence++, order.getId()));
+    }
+
+    /**
+     * A pickup due at a virtual time. The sequence keeps pickups due at the same time in
+     * the order they were scheduled.
+     */
+    private static final class PickupEvent {
+        private final long timeNanos;
+        private final long sequence;
+        private final String orderId;
+
+        private PickupEvent(long timeNanos, long sequence, String orderId) {
+            this.timeNanos = timeNanos;
+            this.sequence = sequence;
+            this.orderId = orderId;
+        }
+    }
+}
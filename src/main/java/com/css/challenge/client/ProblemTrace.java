@@ -0,0 +1,94 @@
+package com.css.challenge.client;
+
+import com.css.challenge.domain.Order;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Header of a recorded problem: the test and the options it was run with.
+ * A trace file holds this header as a JSON line, followed by one JSON line per order,
+ * so that it can be written and read back as a stream (see {@link ProblemTraceReader}).
+ */
+public class ProblemTrace {
+    private final String testId;
+    private final long seed; // seed of the run, 0 for random
+    private final int rateMs;
+    private final int minPickupMs;
+    private final int maxPickupMs;
+    private final long recordedAtMicros; // when the problem was recorded, in microseconds since epoch
+
+    /**
+     * Creates a new problem trace header.
+     *
+     * @param testId Unique identifier of the test
+     * @param seed The seed of the run, or 0 for random
+     * @param rateMs The rate at which orders are placed (in milliseconds)
+     * @param minPickupMs The minimum time before pickup (in milliseconds)
+     * @param maxPickupMs The maximum time before pickup (in milliseconds)
+     * @param recordedAtMicros When the problem was recorded, in microseconds since the epoch
+     */
+    public ProblemTrace(
+            @JsonProperty("testId") String testId,
+            @JsonProperty("seed") long seed,
+            @JsonProperty("rateMs") int rateMs,
+            @JsonProperty("minPickupMs") int minPickupMs,
+            @JsonProperty("maxPickupMs") int maxPickupMs,
+            @JsonProperty("recordedAtMicros") long recordedAtMicros) {
+        this.testId = testId;
+        this.seed = seed;
+        this.rateMs = rateMs;
+        this.minPickupMs = minPickupMs;
+        this.maxPickupMs = maxPickupMs;
+        this.recordedAtMicros = recordedAtMicros;
+    }
+
+    /**
+     * Writes a trace file, streaming the orders so they need not all be held in memory.
+     *
+     * @param path The file to write
+     * @param header The header of the trace
+     * @param orders The orders of the problem
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path path, ProblemTrace header, Iterable<Order> orders) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path);
+             SequenceWriter sequenceWriter = new ObjectMapper().writer()
+                     .withRootValueSeparator("\n")
+                     .writeValues(writer)) {
+            sequenceWriter.write(header);
+            for (Order order : orders) {
+                sequenceWriter.write(order);
+            }
+        }
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getRateMs() {
+        return rateMs;
+    }
+
+    public int getMinPickupMs() {
+        return minPickupMs;
+    }
+
+    public int getMaxPickupMs() {
+        return maxPickupMs;
+    }
+
+    public long getRecordedAtMicros() {
+        return recordedAtMicros;
+    }
+}
@@ -0,0 +1,71 @@
+package com.css.challenge.client;
+
+import com.css.challenge.domain.Order;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Streaming reader of a trace file written by {@link ProblemTrace#write}.
+ * The header is read when the reader is opened; orders are parsed one at a time as they
+ * are iterated, so traces of any size can be replayed in constant memory.
+ * The orders can be iterated only once.
+ */
+public class ProblemTraceReader implements Iterable<Order>, Closeable {
+    private final BufferedReader reader;
+    private final ProblemTrace header;
+    private final MappingIterator<Order> orders;
+    private boolean iterated;
+
+    /**
+     * Opens a trace file and reads its header.
+     *
+     * @param path The trace file
+     * @throws IOException If the file cannot be read or has no header
+     */
+    public ProblemTraceReader(Path path) throws IOException {
+        this.reader = Files.newBufferedReader(path);
+        try {
+            ObjectMapper objectMapper = new ObjectMapper();
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                throw new IOException("Empty problem trace: " + path);
+            }
+            this.header = objectMapper.readValue(headerLine, ProblemTrace.class);
+            this.orders = objectMapper.readerFor(Order.class).readValues(reader);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the header of the trace.
+     *
+     * @return The recorded test and options
+     */
+    public ProblemTrace getHeader() {
+        return header;
+    }
+
+    @Override
+    public Iterator<Order> iterator() {
+        if (iterated) {
+            throw new IllegalStateException("The orders of a problem trace can only be iterated once");
+        }
+        iterated = true;
+        return orders;
+    }
+
+    @Override
+    public void close() throws IOException {
+        orders.close();
+        reader.close();
+    }
+}
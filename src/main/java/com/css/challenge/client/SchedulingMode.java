@@ -0,0 +1,17 @@
+package com.css.challenge.client;
+
+/**
+ * Represents how the simulator waits for the placement and pickup time of each order.
+ */
+public enum SchedulingMode {
+    /**
+     * Placements and pickups are delayed tasks on a small fixed pool of platform threads.
+     */
+    POOL,
+
+    /**
+     * Each order's lifecycle (wait, place, wait, pickup) runs on its own virtual thread,
+     * which simply sleeps until the next step is due.
+     */
+    VIRTUAL_THREADS
+}
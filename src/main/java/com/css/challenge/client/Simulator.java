@@ -2,21 +2,34 @@ package com.css.challenge.client;
 
 import com.css.challenge.domain.Action;
 import com.css.challenge.domain.Order;
+import com.css.challenge.metrics.LatencyHistogram;
 import com.css.challenge.service.ActionLogger;
 import com.css.challenge.service.OrderManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Simulator for processing orders in a kitchen.
  * Handles order placement and pickup based on configuration parameters.
+ * At most a bounded number of orders are in flight, from scheduled placement until pickup;
+ * placement is delayed while the window is full. The run completes when the last order is
+ * picked up, or fails with the first exception thrown by a placement or pickup.
+ * Depending on the {@link SchedulingMode}, orders wait on a shared scheduler or each on its
+ * own virtual thread. How late each placement and pickup fires compared to when it was due,
+ * and how many were waiting at most, is reported at the end of the run.
  */
 public class Simulator {
     // Default values from requirements
@@ -24,52 +37,154 @@ public class Simulator {
     public static final int DEFAULT_RATE_MS = 500; // 2 orders per second = 500ms interval
     public static final int DEFAULT_MIN_PICKUP_TIME_MS = 4000; // 4 seconds
     public static final int DEFAULT_MAX_PICKUP_TIME_MS = 8000; // 8 seconds
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1000;
 
-    private final List<Order> orders;
+    private final Iterable<Order> orders;
     private final OrderManager orderManager;
     private final ActionLogger actionLogger;
     private final int rateMs;
     private final int minPickupTimeMs;
     private final int maxPickupTimeMs;
     private final Random random;
+    private final SchedulingMode schedulingMode;
+
+    // Delayed placements and pickups in POOL mode
     private final ScheduledExecutorService executor;
 
+    // One virtual thread per order in VIRTUAL_THREADS mode
+    private final ExecutorService orderThreads;
+
+    // One permit per order that may be in flight, acquired before its placement is scheduled
+    private final Semaphore inFlight;
+
     // Track progress
     private final AtomicInteger ordersPlaced = new AtomicInteger(0);
     private final AtomicInteger ordersProcessed = new AtomicInteger(0);
 
+    // Orders scheduled but not yet picked up, plus one for the scheduling loop until it is done
+    private final AtomicInteger outstanding = new AtomicInteger(1);
+
+    // Completed after the last pickup, or exceptionally by the first failed task
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    // Nanoseconds between when each placement and pickup was due and when it ran
+    private final LatencyHistogram placementLateness = new LatencyHistogram();
+    private final LatencyHistogram pickupLateness = new LatencyHistogram();
+
+    // Placements and pickups waiting for their time, and the most there have been at once
+    private final AtomicInteger queueDepth = new AtomicInteger(0);
+    private final AtomicInteger maxQueueDepth = new AtomicInteger(0);
+
     /**
      * Creates a new simulator with the specified parameters.
      *
-     * @param orders The list of orders to process
+     * @param orders The orders to process, iterated once
      * @param orderManager The order manager to use
      * @param actionLogger The action logger to use
      * @param rateMs The rate at which to place orders (in milliseconds)
      * @param minPickupTimeMs The minimum time to wait before pickup (in milliseconds)
      * @param maxPickupTimeMs The maximum time to wait before pickup (in milliseconds)
+     * @param maxInFlight The maximum number of orders placed or awaiting placement but not yet picked up
+     * @param schedulingMode How orders wait for their placement and pickup time
+     * @param random The source of pickup delays, drawn by {@link #run} in order sequence
      */
     public Simulator(
-            List<Order> orders,
+            Iterable<Order> orders,
             OrderManager orderManager,
             ActionLogger actionLogger,
             int rateMs,
             int minPickupTimeMs,
-            int maxPickupTimeMs) {
+            int maxPickupTimeMs,
+            int maxInFlight,
+            SchedulingMode schedulingMode,
+            Random random) {
         this.orders = orders;
         this.orderManager = orderManager;
         this.actionLogger = actionLogger;
         this.rateMs = rateMs;
         this.minPickupTimeMs = minPickupTimeMs;
         this.maxPickupTimeMs = maxPickupTimeMs;
-        this.random = new Random();
+        this.random = random;
+        this.schedulingMode = schedulingMode;
+        // Neither executor starts a thread until it is given a task
         this.executor = Executors.newScheduledThreadPool(
                 Math.min(Runtime.getRuntime().availableProcessors() * 2, 10));
+        this.orderThreads = Executors.newVirtualThreadPerTaskExecutor();
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Creates a new simulator with unseeded pickup delays.
+     *
+     * @param orders The orders to process, iterated once
+     * @param orderManager The order manager to use
+     * @param actionLogger The action logger to use
+     * @param rateMs The rate at which to place orders (in milliseconds)
+     * @param minPickupTimeMs The minimum time to wait before pickup (in milliseconds)
+     * @param maxPickupTimeMs The maximum time to wait before pickup (in milliseconds)
+     * @param maxInFlight The maximum number of orders placed or awaiting placement but not yet picked up
+     * @param schedulingMode How orders wait for their placement and pickup time
+     */
+    public Simulator(
+            Iterable<Order> orders,
+            OrderManager orderManager,
+            ActionLogger actionLogger,
+            int rateMs,
+            int minPickupTimeMs,
+            int maxPickupTimeMs,
+            int maxInFlight,
+            SchedulingMode schedulingMode) {
+        this(orders, orderManager, actionLogger, rateMs, minPickupTimeMs, maxPickupTimeMs, maxInFlight,
+                schedulingMode, new Random());
+    }
+
+    /**
+     * Creates a new simulator that schedules orders on a thread pool.
+     *
+     * @param orders The orders to process, iterated once
+     * @param orderManager The order manager to use
+     * @param actionLogger The action logger to use
+     * @param rateMs The rate at which to place orders (in milliseconds)
+     * @param minPickupTimeMs The minimum time to wait before pickup (in milliseconds)
+     * @param maxPickupTimeMs The maximum time to wait before pickup (in milliseconds)
+     * @param maxInFlight The maximum number of orders placed or awaiting placement but not yet picked up
+     */
+    public Simulator(
+            Iterable<Order> orders,
+            OrderManager orderManager,
+            ActionLogger actionLogger,
+            int rateMs,
+            int minPickupTimeMs,
+            int maxPickupTimeMs,
+            int maxInFlight) {
+        this(orders, orderManager, actionLogger, rateMs, minPickupTimeMs, maxPickupTimeMs, maxInFlight,
+                SchedulingMode.POOL);
+    }
+
+    /**
+     * Creates a new simulator with the default in-flight limit.
+     *
+     * @param orders The orders to process, iterated once
+     * @param orderManager The order manager to use
+     * @param actionLogger The action logger to use
+     * @param rateMs The rate at which to place orders (in milliseconds)
+     * @param minPickupTimeMs The minimum time to wait before pickup (in milliseconds)
+     * @param maxPickupTimeMs The maximum time to wait before pickup (in milliseconds)
+     */
+    public Simulator(
+            Iterable<Order> orders,
+            OrderManager orderManager,
+            ActionLogger actionLogger,
+            int rateMs,
+            int minPickupTimeMs,
+            int maxPickupTimeMs) {
+        this(orders, orderManager, actionLogger, rateMs, minPickupTimeMs, maxPickupTimeMs, DEFAULT_MAX_IN_FLIGHT);
     }
 
     /**
      * Creates a new simulator with default parameters.
      *
-     * @param orders The list of orders to process
+     * @param orders The orders to process, iterated once
      * @param orderManager The order manager to use
      * @param actionLogger The action logger to use
      */
@@ -82,31 +197,49 @@ public class Simulator {
      *
      * @return List of actions performed during the simulation
      * @throws InterruptedException if interrupted while waiting for simulation to complete
+     * @throws ExecutionException if placing or picking up an order failed
      */
-    public List<Action> run() throws InterruptedException {
-        LOGGER.info("Starting simulation with {} orders...", orders.size());
+    public List<Action> run() throws InterruptedException, ExecutionException {
+        LOGGER.info("Starting simulation with {} orders...",
+                orders instanceof Collection<?> collection ? collection.size() : "streamed");
         LOGGER.info("Placement rate: 1 order every {} rateMs ms",rateMs);
         LOGGER.info("Pickup time: {} - {} ms after placement", minPickupTimeMs, maxPickupTimeMs);
 
-        // Schedule order placements
-        for (int i = 0; i < orders.size(); i++) {
-            final int orderIndex = i;
-            executor.schedule(
-                    () -> placeOrder(orders.get(orderIndex)),
-                    (long) i * rateMs,
-                    TimeUnit.MILLISECONDS);
-        }
+        // Schedule order placements, waiting for a slot in the in-flight window for each
+        long startNanos = System.nanoTime();
+        try {
+            Iterator<Order> iterator = orders.iterator();
+            for (int i = 0; iterator.hasNext() && !completion.isDone(); i++) {
+                inFlight.acquire();
+                Order order = iterator.next();
+                outstanding.incrementAndGet();
+                long placementNanos = startNanos + TimeUnit.MILLISECONDS.toNanos((long) i * rateMs);
+                // Drawn here in order sequence, so a seed gives each order the same delay however threads interleave
+                int pickupDelayMs = nextPickupDelay();
+                enqueued();
+                switch (schedulingMode) {
+                    case POOL -> executor.schedule(
+                            () -> placeOrder(order, placementNanos, pickupDelayMs),
+                            Math.max(0, placementNanos - System.nanoTime()),
+                            TimeUnit.NANOSECONDS);
+                    case VIRTUAL_THREADS -> orderThreads.execute(() -> runOrder(order, placementNanos, pickupDelayMs));
+                }
+            }
+            finished();
 
-        // Wait for all orders to be processed
-        while (ordersProcessed.get() < orders.size()) {
-            Thread.sleep(100);
+            // Wait for the last pickup or the first failure
+            completion.get();
+        } finally {
+            executor.shutdownNow();
+            orderThreads.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            orderThreads.awaitTermination(1, TimeUnit.MINUTES);
         }
 
-        // Shutdown executor and wait for termination
-        executor.shutdown();
-        executor.awaitTermination(1, TimeUnit.MINUTES);
-
         LOGGER.info("\nSimulation complete. Processed {} orders.",ordersProcessed.get());
+        logLateness("Placement", placementLateness);
+        logLateness("Pickup", pickupLateness);
+        LOGGER.info("Max scheduler queue depth: {}", maxQueueDepth.get());
 
         return actionLogger.getAllActions();
     }
@@ -115,24 +248,158 @@ public class Simulator {
      * Places an order and schedules its pickup.
      *
      * @param order The order to place
+     * @param placementNanos The nanoTime at which the placement was due
+     * @param pickupDelayMs The time to wait after placement before pickup (in milliseconds)
      */
-    private void placeOrder(Order order) {
-        orderManager.placeOrder(order);
-        ordersPlaced.incrementAndGet();
+    private void placeOrder(Order order, long placementNanos, int pickupDelayMs) {
+        dequeued(placementNanos, placementLateness);
+        if (!place(order)) {
+            return;
+        }
 
         // Schedule pickup
-        int pickupDelay = minPickupTimeMs + random.nextInt(maxPickupTimeMs - minPickupTimeMs + 1);
-        executor.schedule(() -> pickupOrder(order.getId()), pickupDelay, TimeUnit.MILLISECONDS);
+        long pickupNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pickupDelayMs);
+        enqueued();
+        executor.schedule(
+                () -> pickupOrder(order.getId(), pickupNanos),
+                pickupNanos - System.nanoTime(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs an order's whole lifecycle on the current virtual thread, sleeping until its
+     * placement and then its pickup are due.
+     *
+     * @param order The order to place and pick up
+     * @param placementNanos The nanoTime at which to place the order
+     * @param pickupDelayMs The time to wait after placement before pickup (in milliseconds)
+     */
+    private void runOrder(Order order, long placementNanos, int pickupDelayMs) {
+        long pickupNanos;
+        try {
+            long placementDelay = placementNanos - System.nanoTime();
+            if (placementDelay > 0) {
+                TimeUnit.NANOSECONDS.sleep(placementDelay);
+            }
+            dequeued(placementNanos, placementLateness);
+            if (!place(order)) {
+                return;
+            }
+
+            pickupNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pickupDelayMs);
+            enqueued();
+            TimeUnit.NANOSECONDS.sleep(pickupNanos - System.nanoTime());
+        } catch (InterruptedException e) {
+            // The run has ended
+            inFlight.release();
+            return;
+        }
+        pickupOrder(order.getId(), pickupNanos);
+    }
+
+    /**
+     * Places an order, failing the run if the placement throws anything.
+     *
+     * @param order The order to place
+     * @return true if the order was placed
+     */
+    private boolean place(Order order) {
+        try {
+            orderManager.placeOrder(order);
+            ordersPlaced.incrementAndGet();
+            return true;
+        } catch (Throwable t) {
+            // Errors too, as an error left in the executor's future would never complete the run
+            inFlight.release();
+            completion.completeExceptionally(t);
+            return false;
+        }
+    }
+
+    private int nextPickupDelay() {
+        return minPickupTimeMs + random.nextInt(maxPickupTimeMs - minPickupTimeMs + 1);
     }
 
     /**
      * Picks up an order.
      *
      * @param orderId The ID of the order to pick up
+     * @param pickupNanos The nanoTime at which the pickup was due
      */
-    private void pickupOrder(String orderId) {
-        orderManager.pickupOrder(orderId);
+    private void pickupOrder(String orderId, long pickupNanos) {
+        dequeued(pickupNanos, pickupLateness);
+        try {
+            orderManager.pickupOrder(orderId);
+        } catch (Throwable t) {
+            completion.completeExceptionally(t);
+            return;
+        } finally {
+            inFlight.release();
+        }
+
         ordersProcessed.incrementAndGet();
+        finished();
+    }
+
+    private void finished() {
+        if (outstanding.decrementAndGet() == 0) {
+            completion.complete(null);
+        }
+    }
+
+    /**
+     * Counts a placement or pickup that starts waiting for its time.
+     */
+    private void enqueued() {
+        maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Counts a placement or pickup that is running, recording how late it is.
+     */
+    private void dequeued(long dueNanos, LatencyHistogram lateness) {
+        lateness.record(System.nanoTime() - dueNanos);
+        queueDepth.decrementAndGet();
+    }
+
+    private static void logLateness(String event, LatencyHistogram lateness) {
+        LOGGER.info("{} lateness: p50={} ms, p99={} ms, p99.9={} ms, max={} ms",
+                event,
+                formatMillis(lateness.getValueAtPercentile(50)),
+                formatMillis(lateness.getValueAtPercentile(99)),
+                formatMillis(lateness.getValueAtPercentile(99.9)),
+                formatMillis(lateness.getMax()));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Gets how late placements ran compared to when they were due, in nanoseconds.
+     *
+     * @return The placement lateness histogram
+     */
+    public LatencyHistogram getPlacementLateness() {
+        return placementLateness;
+    }
+
+    /**
+     * Gets how late pickups ran compared to when they were due, in nanoseconds.
+     *
+     * @return The pickup lateness histogram
+     */
+    public LatencyHistogram getPickupLateness() {
+        return pickupLateness;
+    }
+
+    /**
+     * Gets the most placements and pickups that were waiting for their time at once.
+     *
+     * @return The maximum scheduler queue depth
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
     }
 
     /**
@@ -0,0 +1,76 @@
+package com.css.challenge.clock;
+
+/**
+ * Clock that serves the last system time read by a background thread, so reading it is a
+ * single volatile load. Readings only advance once per resolution, which is ample for
+ * freshness measured in seconds.
+ */
+public final class CachedClock implements Clock, AutoCloseable {
+    private static final long DEFAULT_RESOLUTION_MILLIS = 1;
+
+    private final long resolutionMillis;
+    private volatile long cachedNanos;
+
+    private final Thread updater;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new cached clock and starts its updater thread.
+     *
+     * @param resolutionMillis How often the cached time is refreshed, in milliseconds
+     */
+    public CachedClock(long resolutionMillis) {
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("Resolution must be greater than zero");
+        }
+        this.resolutionMillis = resolutionMillis;
+        this.cachedNanos = System.nanoTime();
+
+        this.updater = new Thread(this::runUpdater, "cached-clock");
+        this.updater.setDaemon(true);
+        this.updater.start();
+    }
+
+    /**
+     * Creates a new cached clock refreshed every millisecond.
+     */
+    public CachedClock() {
+        this(DEFAULT_RESOLUTION_MILLIS);
+    }
+
+    @Override
+    public long nanoTime() {
+        return cachedNanos;
+    }
+
+    @Override
+    public long currentTimeMicros() {
+        return SystemClock.INSTANCE.toEpochMicros(cachedNanos);
+    }
+
+    /**
+     * Stops the updater thread. The clock stops advancing.
+     * If interrupted while waiting for the updater, the interrupt status is restored.
+     */
+    @Override
+    public void close() {
+        running = false;
+        updater.interrupt();
+        try {
+            updater.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runUpdater() {
+        while (running) {
+            try {
+                Thread.sleep(resolutionMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            cachedNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.css.challenge.clock;
+
+/**
+ * Source of time for orders, freshness tracking and action logging.
+ * Components read time only through a clock, so a simulation can swap the system clock
+ * for a {@link VirtualClock} and run without waiting in real time.
+ */
+public interface Clock {
+
+    /**
+     * Gets a monotonic time reading, comparable only with other readings of the same clock.
+     *
+     * @return The current time in nanoseconds
+     */
+    long nanoTime();
+
+    /**
+     * Gets the wall-clock time, as used for action timestamps.
+     *
+     * @return The current time in microseconds since the epoch
+     */
+    long currentTimeMicros();
+
+    /**
+     * Gets the clock backed by {@link System#nanoTime()}.
+     *
+     * @return The system clock
+     */
+    static Clock system() {
+        return SystemClock.INSTANCE;
+    }
+}
@@ -0,0 +1,38 @@
+package com.css.challenge.clock;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Clock backed by {@link System#nanoTime()}. Wall-clock time is derived from a single
+ * epoch anchor taken when the class is loaded, so reading it allocates nothing.
+ */
+public final class SystemClock implements Clock {
+    static final SystemClock INSTANCE = new SystemClock();
+
+    // Wall-clock time at class load, in microseconds since epoch, and the matching nanoTime
+    private final long anchorMicros;
+    private final long anchorNanos;
+
+    private SystemClock() {
+        this.anchorMicros = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        this.anchorNanos = System.nanoTime();
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public long currentTimeMicros() {
+        return toEpochMicros(System.nanoTime());
+    }
+
+    /**
+     * Converts a nanoTime reading to microseconds since the epoch.
+     */
+    long toEpochMicros(long nanoTime) {
+        return anchorMicros + (nanoTime - anchorNanos) / 1000;
+    }
+}
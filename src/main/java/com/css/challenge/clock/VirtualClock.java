@@ -0,0 +1,62 @@
+package com.css.challenge.clock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clock that only moves when it is advanced, for simulations and deterministic tests.
+ * Time starts at zero nanoseconds, which corresponds to a fixed wall-clock start time.
+ */
+public final class VirtualClock implements Clock {
+    private final long startMicros;
+    private final AtomicLong nanos = new AtomicLong();
+
+    /**
+     * Creates a new virtual clock.
+     *
+     * @param start The wall-clock time the clock starts at
+     */
+    public VirtualClock(Instant start) {
+        this.startMicros = ChronoUnit.MICROS.between(Instant.EPOCH, start);
+    }
+
+    /**
+     * Creates a new virtual clock starting at the current wall-clock time.
+     */
+    public VirtualClock() {
+        this(Instant.now());
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos.get();
+    }
+
+    @Override
+    public long currentTimeMicros() {
+        return startMicros + nanos.get() / 1000;
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param duration How far to move the clock
+     */
+    public void advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Cannot move the clock backwards");
+        }
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    /**
+     * Moves the clock forward to a reading, or leaves it if it is already past it.
+     *
+     * @param nanoTime The reading to move the clock to
+     */
+    public void advanceTo(long nanoTime) {
+        nanos.accumulateAndGet(nanoTime, Math::max);
+    }
+}
@@ -20,9 +20,20 @@ public class Action {
      * @param actionType Type of actionType performed
      */
     public Action(Instant timestamp, String id, ActionType actionType) {
-        this.timestamp = ChronoUnit.MICROS.between(Instant.EPOCH, timestamp);
+        this(ChronoUnit.MICROS.between(Instant.EPOCH, timestamp), id, actionType);
+    }
+
+    /**
+     * Creates a new actionType from a timestamp already in microseconds since epoch.
+     *
+     * @param timestampMicros Timestamp when the actionType occurred, in microseconds since epoch
+     * @param id Order ID the actionType applies to
+     * @param actionType Type of actionType performed
+     */
+    public Action(long timestampMicros, String id, ActionType actionType) {
+        this.timestamp = timestampMicros;
         this.id = id;
-        this.actionType = actionType.name().toLowerCase();
+        this.actionType = actionType.getValue();
     }
 
     /**
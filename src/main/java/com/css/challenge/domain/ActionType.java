@@ -4,5 +4,16 @@ package com.css.challenge.domain;
  * Represents the types of actions that can be performed on an order.
  */
 public enum ActionType {
-    PLACE, MOVE, PICKUP, DISCARD
+    PLACE, MOVE, PICKUP, DISCARD;
+
+    private final String value = name().toLowerCase();
+
+    /**
+     * Gets the lowercase name used in action records.
+     *
+     * @return The action name, e.g. "place"
+     */
+    public String getValue() {
+        return value;
+    }
 }
@@ -1,10 +1,10 @@
 package com.css.challenge.domain;
 
+import com.css.challenge.exception.InvalidOrderException;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 
@@ -16,26 +16,30 @@ public class Order {
     private final String name; // food name
     private final Temperature temp; // ideal temperature
     private final int freshness; // freshness in seconds
-    private final Instant placementTime; // when the order was placed
 
     /**
-     * Creates a new order with the current time as placement time.
+     * Creates a new order.
+     * Freshness of a placed order is tracked by the FreshnessTracker, on the clock of the run.
      *
      * @param id Order identifier
      * @param name Name of the food item
      * @param temp Ideal storage temperature
      * @param freshness Freshness duration in seconds
+     * @throws InvalidOrderException if the temperature is missing
      */
     public Order(
             @JsonProperty("id") String id,
             @JsonProperty("name") String name,
             @JsonProperty("temp") Temperature temp,
             @JsonProperty("freshness") int freshness) {
+        // Rejected here, so storage and freshness tracking never see an order without a temperature
+        if (temp == null) {
+            throw new InvalidOrderException("Order " + id + " has no temperature");
+        }
         this.id = id;
         this.name = name;
         this.temp = temp;
         this.freshness = freshness;
-        this.placementTime = Instant.now();
     }
 
     /**
@@ -66,32 +70,6 @@ public class Order {
         return freshness;
     }
 
-    /**
-     * Calculates the remaining freshness duration for this order based on the current storage temperature.
-     * If the order is not stored at its ideal temperature, the freshness duration is halved.
-     */
-    public long getRemainingFreshness(Temperature currentTemp) {
-        long elapsedMillis = Instant.now().toEpochMilli() - placementTime.toEpochMilli();
-        long freshnessDuration = freshness * 1000L; // convert to milliseconds
-
-        // If not at ideal temperature, freshness is halved
-        if (currentTemp != temp) {
-            freshnessDuration /= 2;
-        }
-
-        return Math.max(0, freshnessDuration - elapsedMillis);
-    }
-
-    /**
-     * Determines if the order has expired based on storage temperature and elapsed time.
-     *
-     * @param currentTemp The temperature at which the order is currently stored
-     * @return true if the order is expired, false otherwise
-     */
-    public boolean isExpired(Temperature currentTemp) {
-        return getRemainingFreshness(currentTemp) <= 0;
-    }
-
     @Override
     public String toString() {
         return "{id: " + id + ", name: " + name + ", temp: " + temp + ", freshness:" + freshness + " }";
@@ -0,0 +1,8 @@
+package com.css.challenge.domain;
+
+/**
+ * Represents why an order left the kitchen.
+ */
+public enum RemovalReason {
+    PICKED_UP, DISCARDED
+}
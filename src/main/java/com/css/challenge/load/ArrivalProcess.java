@@ -0,0 +1,27 @@
+package com.css.challenge.load;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates the times at which orders arrive, as gaps between consecutive arrivals.
+ * Implementations may keep state between calls and are used from a single dispatching thread.
+ */
+public interface ArrivalProcess {
+
+    /**
+     * Gets the time from the previous arrival, or from the start for the first one, to the next arrival.
+     *
+     * @param random The random source of the dispatching thread
+     * @return The gap in nanoseconds
+     */
+    long nextGapNanos(SplittableRandom random);
+
+    /**
+     * Checks if another arrival follows. Generated processes never run out.
+     *
+     * @return true if {@link #nextGapNanos(SplittableRandom)} may be called again
+     */
+    default boolean hasNext() {
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.css.challenge.load;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of the delay between placing an order and its pickup.
+ * Implementations are immutable, so one instance can be sampled from many threads,
+ * each with its own random source.
+ */
+public interface DelayDistribution {
+
+    /**
+     * Draws a delay.
+     *
+     * @param random The random source of the calling thread
+     * @return The delay in nanoseconds
+     */
+    long sampleNanos(SplittableRandom random);
+}
@@ -0,0 +1,54 @@
+package com.css.challenge.load;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delays drawn from observed samples, interpolating linearly between neighbouring samples so
+ * that draws are not limited to the observed values.
+ */
+public class EmpiricalDelay implements DelayDistribution {
+    private final long[] sortedNanos;
+
+    /**
+     * Creates an empirical delay distribution.
+     *
+     * @param samplesMillis The observed delays in milliseconds
+     */
+    public EmpiricalDelay(long... samplesMillis) {
+        if (samplesMillis.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        this.sortedNanos = new long[samplesMillis.length];
+        for (int i = 0; i < samplesMillis.length; i++) {
+            sortedNanos[i] = TimeUnit.MILLISECONDS.toNanos(samplesMillis[i]);
+        }
+        Arrays.sort(sortedNanos);
+    }
+
+    /**
+     * Reads observed delays in milliseconds from a file, one per line. Blank lines are skipped.
+     *
+     * @param path The samples file
+     * @return The empirical delay distribution
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If the file holds no samples
+     */
+    public static EmpiricalDelay read(Path path) throws IOException {
+        return new EmpiricalDelay(MillisFiles.read(path));
+    }
+
+    @Override
+    public long sampleNanos(SplittableRandom random) {
+        double position = random.nextDouble() * (sortedNanos.length - 1);
+        int lower = (int) position;
+        if (lower == sortedNanos.length - 1) {
+            return sortedNanos[lower];
+        }
+        double fraction = position - lower;
+        return sortedNanos[lower] + (long) (fraction * (sortedNanos[lower + 1] - sortedNanos[lower]));
+    }
+}
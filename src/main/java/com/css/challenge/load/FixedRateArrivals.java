@@ -0,0 +1,30 @@
+package com.css.challenge.load;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arrivals at a fixed interval, as placed by the real-time simulator.
+ */
+public class FixedRateArrivals implements ArrivalProcess {
+    private final long intervalNanos;
+    private boolean started;
+
+    /**
+     * Creates fixed-rate arrivals. The first order arrives immediately.
+     *
+     * @param intervalMillis The time between arrivals in milliseconds
+     */
+    public FixedRateArrivals(long intervalMillis) {
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    @Override
+    public long nextGapNanos(SplittableRandom random) {
+        if (!started) {
+            started = true;
+            return 0;
+        }
+        return intervalNanos;
+    }
+}
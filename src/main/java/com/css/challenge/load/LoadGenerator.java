@@ -0,0 +1,192 @@
+package com.css.challenge.load;
+
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+import com.css.challenge.metrics.LatencyHistogram;
+import com.css.challenge.service.ActionLogger;
+import com.css.challenge.service.OrderManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open-loop load generator: orders arrive when the arrival process says so, however far
+ * behind the order manager is, so that offered load can be raised until it saturates.
+ * The calling thread dispatches arrivals, and each order then runs on its own virtual thread,
+ * which places it, waits for a pickup delay and picks it up.
+ * Randomness comes from a SplittableRandom seeded once on the dispatching thread, which
+ * splits off one generator per order, so a seed reproduces every arrival and delay
+ * regardless of thread scheduling.
+ */
+public class LoadGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final Iterable<Order> orders;
+    private final OrderManager orderManager;
+    private final ActionLogger actionLogger;
+    private final ArrivalProcess arrivals;
+    private final DelayDistribution pickupDelays;
+    private final long seed;
+
+    // Orders dispatched but not yet finished, plus one for the dispatcher until it is done
+    private final AtomicInteger outstanding = new AtomicInteger(1);
+    private final AtomicInteger ordersDispatched = new AtomicInteger(0);
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    // Nanoseconds from an order's arrival until it is placed, and from its pickup time until picked up
+    private final LatencyHistogram placementLatency = new LatencyHistogram();
+    private final LatencyHistogram pickupLatency = new LatencyHistogram();
+
+    /**
+     * Creates a new load generator.
+     *
+     * @param orders The orders to dispatch, iterated once until they or the arrivals run out
+     * @param orderManager The order manager to drive
+     * @param actionLogger The action logger of the order manager
+     * @param arrivals When orders arrive
+     * @param pickupDelays How long after placement orders are picked up
+     * @param seed The seed of all random draws
+     */
+    public LoadGenerator(
+            Iterable<Order> orders,
+            OrderManager orderManager,
+            ActionLogger actionLogger,
+            ArrivalProcess arrivals,
+            DelayDistribution pickupDelays,
+            long seed) {
+        this.orders = orders;
+        this.orderManager = orderManager;
+        this.actionLogger = actionLogger;
+        this.arrivals = arrivals;
+        this.pickupDelays = pickupDelays;
+        this.seed = seed;
+    }
+
+    /**
+     * Dispatches the orders and waits until every dispatched order is picked up.
+     *
+     * @return List of actions performed during the run
+     * @throws InterruptedException if interrupted while dispatching or waiting
+     * @throws ExecutionException if placing or picking up an order failed
+     */
+    public List<Action> run() throws InterruptedException, ExecutionException {
+        LOGGER.info("Starting open-loop load...");
+
+        SplittableRandom random = new SplittableRandom(seed);
+        long startNanos = System.nanoTime();
+        long arrivalNanos = startNanos;
+        ExecutorService orderThreads = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext() && arrivals.hasNext() && !completion.isDone()) {
+                arrivalNanos += arrivals.nextGapNanos(random);
+                long waitNanos = arrivalNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+
+                Order order = iterator.next();
+                long dueNanos = arrivalNanos;
+                SplittableRandom orderRandom = random.split();
+                outstanding.incrementAndGet();
+                ordersDispatched.incrementAndGet();
+                orderThreads.execute(() -> runOrder(order, dueNanos, orderRandom));
+            }
+            finished();
+
+            // Wait for the last pickup or the first failure
+            completion.get();
+        } finally {
+            orderThreads.shutdownNow();
+            orderThreads.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        double offeredSeconds = (arrivalNanos - startNanos) / 1e9;
+        LOGGER.info("Open-loop load complete. Dispatched {} orders at {} orders/s offered.",
+                ordersDispatched.get(),
+                String.format("%.1f", offeredSeconds > 0 ? ordersDispatched.get() / offeredSeconds : 0.0));
+        LOGGER.info("Run took {} s", String.format("%.3f", elapsedSeconds));
+        logLatency("Placement", placementLatency);
+        logLatency("Pickup", pickupLatency);
+
+        return actionLogger.getAllActions();
+    }
+
+    /**
+     * Places an order, waits for its pickup delay and picks it up, on the order's own thread.
+     */
+    private void runOrder(Order order, long arrivalNanos, SplittableRandom random) {
+        try {
+            orderManager.placeOrder(order);
+            long placedNanos = System.nanoTime();
+            placementLatency.record(placedNanos - arrivalNanos);
+
+            long pickupNanos = placedNanos + pickupDelays.sampleNanos(random);
+            TimeUnit.NANOSECONDS.sleep(pickupNanos - System.nanoTime());
+
+            orderManager.pickupOrder(order.getId());
+            pickupLatency.record(System.nanoTime() - pickupNanos);
+        } catch (InterruptedException e) {
+            // The run has ended
+            return;
+        } catch (Throwable t) {
+            // Errors too, as an order thread dying silently would leave the run waiting forever
+            completion.completeExceptionally(t);
+            return;
+        }
+        finished();
+    }
+
+    private void finished() {
+        if (outstanding.decrementAndGet() == 0) {
+            completion.complete(null);
+        }
+    }
+
+    private static void logLatency(String event, LatencyHistogram latency) {
+        LOGGER.info("{} latency: p50={} ms, p99={} ms, p99.9={} ms, max={} ms",
+                event,
+                String.format("%.3f", latency.getValueAtPercentile(50) / 1_000_000.0),
+                String.format("%.3f", latency.getValueAtPercentile(99) / 1_000_000.0),
+                String.format("%.3f", latency.getValueAtPercentile(99.9) / 1_000_000.0),
+                String.format("%.3f", latency.getMax() / 1_000_000.0));
+    }
+
+    /**
+     * Gets the time from each order's arrival until it was placed, in nanoseconds.
+     * Its tail grows without bound once the offered load saturates the order manager.
+     *
+     * @return The placement latency histogram
+     */
+    public LatencyHistogram getPlacementLatency() {
+        return placementLatency;
+    }
+
+    /**
+     * Gets the time from each order's pickup time until it was picked up, in nanoseconds.
+     *
+     * @return The pickup latency histogram
+     */
+    public LatencyHistogram getPickupLatency() {
+        return pickupLatency;
+    }
+
+    /**
+     * Gets the number of orders dispatched so far.
+     *
+     * @return The dispatched order count
+     */
+    public int getOrdersDispatched() {
+        return ordersDispatched.get();
+    }
+}
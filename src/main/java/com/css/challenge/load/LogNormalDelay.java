@@ -0,0 +1,46 @@
+package com.css.challenge.load;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log-normally distributed delays: most pickups come close to the median, with a long tail
+ * of late couriers.
+ */
+public class LogNormalDelay implements DelayDistribution {
+    private final double mu;
+    private final double sigma;
+
+    /**
+     * Creates a log-normal delay distribution.
+     *
+     * @param medianMillis The median delay in milliseconds
+     * @param sigma The standard deviation of the delay's natural logarithm
+     */
+    public LogNormalDelay(double medianMillis, double sigma) {
+        if (medianMillis <= 0 || sigma < 0) {
+            throw new IllegalArgumentException("Median must be positive and sigma non-negative");
+        }
+        this.mu = Math.log(medianMillis * TimeUnit.MILLISECONDS.toNanos(1));
+        this.sigma = sigma;
+    }
+
+    /**
+     * Creates a log-normal delay distribution with its median in the middle of a range, in
+     * geometric terms, and about 95% of delays inside the range.
+     *
+     * @param minMillis The low end of the range in milliseconds
+     * @param maxMillis The high end of the range in milliseconds
+     * @return The delay distribution
+     */
+    public static LogNormalDelay fitting(long minMillis, long maxMillis) {
+        double medianMillis = Math.sqrt((double) minMillis * maxMillis);
+        double sigma = Math.log((double) maxMillis / minMillis) / (2 * 1.96);
+        return new LogNormalDelay(medianMillis, sigma);
+    }
+
+    @Override
+    public long sampleNanos(SplittableRandom random) {
+        return (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+}
@@ -0,0 +1,41 @@
+package com.css.challenge.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads files of millisecond values, one per line, as used for arrival traces and delay samples.
+ */
+final class MillisFiles {
+
+    private MillisFiles() {
+    }
+
+    /**
+     * Reads millisecond values from a file, one per line. Blank lines are skipped.
+     *
+     * @param path The file to read
+     * @return The values, in file order
+     * @throws IOException If the file cannot be read
+     */
+    static long[] read(Path path) throws IOException {
+        long[] values = new long[64];
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = Long.parseLong(line.trim());
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+}
@@ -0,0 +1,60 @@
+package com.css.challenge.load;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursty arrivals that alternate between rush phases, with Poisson arrivals at a high rate,
+ * and quiet phases without arrivals. Phase lengths are exponentially distributed, and the
+ * process starts with a rush.
+ */
+public class OnOffArrivals implements ArrivalProcess {
+    private final double onMeanGapNanos;
+    private final double meanOnNanos;
+    private final double meanOffNanos;
+
+    private boolean on;
+    private long phaseRemainingNanos;
+
+    /**
+     * Creates on/off arrivals. The long-run average gap is
+     * {@code onMeanGapMillis * (meanOnMillis + meanOffMillis) / meanOnMillis}.
+     *
+     * @param onMeanGapMillis The average time between arrivals during a rush, in milliseconds
+     * @param meanOnMillis The average length of a rush in milliseconds
+     * @param meanOffMillis The average length of a quiet phase in milliseconds
+     */
+    public OnOffArrivals(double onMeanGapMillis, double meanOnMillis, double meanOffMillis) {
+        if (onMeanGapMillis <= 0 || meanOnMillis <= 0 || meanOffMillis < 0) {
+            throw new IllegalArgumentException("Gap and rush length must be positive and quiet length non-negative");
+        }
+        long nanosPerMilli = TimeUnit.MILLISECONDS.toNanos(1);
+        this.onMeanGapNanos = onMeanGapMillis * nanosPerMilli;
+        this.meanOnNanos = meanOnMillis * nanosPerMilli;
+        this.meanOffNanos = meanOffMillis * nanosPerMilli;
+    }
+
+    @Override
+    public long nextGapNanos(SplittableRandom random) {
+        long gapNanos = 0;
+        while (true) {
+            if (!on) {
+                // Wait out the quiet phase and start a rush
+                gapNanos += phaseRemainingNanos;
+                on = true;
+                phaseRemainingNanos = (long) (random.nextExponential() * meanOnNanos);
+            }
+
+            long candidateNanos = (long) (random.nextExponential() * onMeanGapNanos);
+            if (candidateNanos <= phaseRemainingNanos) {
+                phaseRemainingNanos -= candidateNanos;
+                return gapNanos + candidateNanos;
+            }
+
+            // The rush ends first; gaps are memoryless, so the next one is drawn afresh
+            gapNanos += phaseRemainingNanos;
+            on = false;
+            phaseRemainingNanos = (long) (random.nextExponential() * meanOffNanos);
+        }
+    }
+}
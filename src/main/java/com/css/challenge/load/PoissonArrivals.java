@@ -0,0 +1,29 @@
+package com.css.challenge.load;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arrivals of a Poisson process: independent arrivals at a constant average rate, so gaps
+ * between arrivals are exponentially distributed.
+ */
+public class PoissonArrivals implements ArrivalProcess {
+    private final double meanGapNanos;
+
+    /**
+     * Creates Poisson arrivals.
+     *
+     * @param meanGapMillis The average time between arrivals in milliseconds
+     */
+    public PoissonArrivals(double meanGapMillis) {
+        if (meanGapMillis <= 0) {
+            throw new IllegalArgumentException("Mean gap must be greater than zero");
+        }
+        this.meanGapNanos = meanGapMillis * TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public long nextGapNanos(SplittableRandom random) {
+        return (long) (random.nextExponential() * meanGapNanos);
+    }
+}
@@ -0,0 +1,50 @@
+package com.css.challenge.load;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arrivals replayed from recorded timestamps, relative to the first one.
+ */
+public class TraceArrivals implements ArrivalProcess {
+    private final long[] timestampsNanos;
+    private int next;
+
+    /**
+     * Creates arrivals from recorded timestamps.
+     *
+     * @param timestampsMillis The arrival timestamps in milliseconds, in any order
+     */
+    public TraceArrivals(long[] timestampsMillis) {
+        this.timestampsNanos = new long[timestampsMillis.length];
+        for (int i = 0; i < timestampsMillis.length; i++) {
+            timestampsNanos[i] = TimeUnit.MILLISECONDS.toNanos(timestampsMillis[i]);
+        }
+        Arrays.sort(timestampsNanos);
+    }
+
+    /**
+     * Reads arrival timestamps in milliseconds from a file, one per line. Blank lines are skipped.
+     *
+     * @param path The trace file
+     * @return The recorded arrivals
+     * @throws IOException If the file cannot be read
+     */
+    public static TraceArrivals read(Path path) throws IOException {
+        return new TraceArrivals(MillisFiles.read(path));
+    }
+
+    @Override
+    public long nextGapNanos(SplittableRandom random) {
+        long previous = next == 0 ? timestampsNanos[0] : timestampsNanos[next - 1];
+        return timestampsNanos[next++] - previous;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next < timestampsNanos.length;
+    }
+}
@@ -0,0 +1,31 @@
+package com.css.challenge.load;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delays drawn uniformly from a range, as used by the real-time simulator.
+ */
+public class UniformDelay implements DelayDistribution {
+    private final long minNanos;
+    private final long maxNanos;
+
+    /**
+     * Creates a uniform delay distribution.
+     *
+     * @param minMillis The shortest delay in milliseconds
+     * @param maxMillis The longest delay in milliseconds
+     */
+    public UniformDelay(long minMillis, long maxMillis) {
+        if (minMillis < 0 || minMillis > maxMillis) {
+            throw new IllegalArgumentException("Delay range must be non-negative and ordered");
+        }
+        this.minNanos = TimeUnit.MILLISECONDS.toNanos(minMillis);
+        this.maxNanos = TimeUnit.MILLISECONDS.toNanos(maxMillis);
+    }
+
+    @Override
+    public long sampleNanos(SplittableRandom random) {
+        return random.nextLong(minNanos, maxNanos + 1);
+    }
+}
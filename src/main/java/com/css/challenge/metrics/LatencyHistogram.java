@@ -0,0 +1,95 @@
+package com.css.challenge.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of non-negative latencies with a fixed relative precision, in the
+ * style of HdrHistogram. Values below 128 are counted exactly; larger values share a bucket
+ * with others within 1/128 of them, so percentiles are accurate to within 1% across the
+ * whole range of longs in a fixed footprint of a few thousand counters.
+ * Recording is lock-free and never allocates.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records a value. Negative values, such as an event firing early, are recorded as 0.
+     *
+     * @param value The value to record
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(recorded));
+        totalCount.incrementAndGet();
+        maxValue.accumulateAndGet(recorded, Math::max);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Gets the largest recorded value, exactly.
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Gets the value at a percentile: no more than that percentage of recorded values are
+     * above it, up to the histogram's precision.
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return The value at the percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueInBucket(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Gets the bucket of a value. Values below the sub-bucket count map to themselves; above,
+     * each power of two is split into the same number of equally sized sub-buckets.
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        // Saturates for the topmost bucket, whose upper edge is beyond Long.MAX_VALUE
+        long nextLowest = (subBucket + 1) << shift;
+        return nextLowest <= 0 ? Long.MAX_VALUE : nextLowest - 1;
+    }
+}
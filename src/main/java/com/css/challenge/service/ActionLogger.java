@@ -32,11 +32,20 @@ public interface ActionLogger {
 
     /**
      * Gets all logged actions.
+     * Implementations return a snapshot, which may cost a copy of the whole log, so this is
+     * meant to be read after a run rather than on every operation.
      *
      * @return List of all actions in chronological order
      */
     List<Action> getAllActions();
 
+    /**
+     * Gets the number of logged actions, without copying the log.
+     *
+     * @return The number of actions logged so far
+     */
+    int getActionCount();
+
     /**
      * Gets actions for a specific order.
      *
@@ -1,5 +1,6 @@
 package com.css.challenge.service;
 
+import com.css.challenge.clock.Clock;
 import com.css.challenge.domain.Action;
 import com.css.challenge.domain.ActionType;
 import org.slf4j.Logger;
@@ -8,78 +9,119 @@ import org.slf4j.LoggerFactory;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Implementation of the ActionLogger interface.
  * Thread-safe to handle concurrent action logging.
+ * Logging an action without echoing it allocates only the Action itself: timestamps are read
+ * from the clock in microseconds, without going through Instant.
  */
 public class ActionLoggerImpl implements ActionLogger {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ActionLoggerImpl.class);
-    // Global action log in chronological order
+    // Global action log in chronological order; guarded by this instance
     private final List<Action> actionLog;
 
-    // Order-specific action logs for faster lookup
-    private final Map<String, List<Action>> orderActions;
+    // Whether each action is printed as it is logged
+    private final boolean echoActions;
+
+    // Clock action timestamps are read from
+    private final Clock clock;
 
     // Formatter for timestamp display
     private final DateTimeFormatter formatter;
 
     /**
-     * Creates a new action logger.
+     * Creates a new action logger that prints every action as it is logged.
      */
     public ActionLoggerImpl() {
-        this.actionLog = new CopyOnWriteArrayList<>();
-        this.orderActions = new ConcurrentHashMap<>();
+        this(true);
+    }
+
+    /**
+     * Creates a new action logger on the system clock.
+     *
+     * @param echoActions Whether to print every action as it is logged
+     */
+    public ActionLoggerImpl(boolean echoActions) {
+        this(Clock.system(), echoActions);
+    }
+
+    /**
+     * Creates a new action logger.
+     *
+     * @param clock The clock action timestamps are read from
+     * @param echoActions Whether to print every action as it is logged
+     */
+    public ActionLoggerImpl(Clock clock, boolean echoActions) {
+        this.actionLog = new ArrayList<>();
+        this.echoActions = echoActions;
+        this.clock = clock;
         this.formatter = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
                 .withZone(ZoneId.systemDefault());
     }
 
     @Override
-    public Action logAction(String orderId, ActionType actionType) {
-        return logAction(Instant.now(), orderId, actionType);
+    public synchronized Action logAction(String orderId, ActionType actionType) {
+        return record(new Action(clock.currentTimeMicros(), orderId, actionType));
     }
 
     @Override
     public synchronized Action logAction(Instant timestamp, String orderId, ActionType actionType) {
-        Action action = new Action(timestamp, orderId, actionType);
+        return record(new Action(timestamp, orderId, actionType));
+    }
 
-        // Add to global log
+    private Action record(Action action) {
         actionLog.add(action);
 
-        // Add to order-specific log
-        orderActions.computeIfAbsent(orderId, k -> new CopyOnWriteArrayList<>()).add(action);
-
         // Print the action (for real-time monitoring as specified in requirements)
-        LOGGER.info("[{}] Order {}: {}",
-                    formatter.format(timestamp),
-                    orderId,
-                    actionType.name().toLowerCase());
+        if (echoActions) {
+            LOGGER.info("[{}] Order {}: {}",
+                        formatter.format(Instant.EPOCH.plus(action.getTimestamp(), ChronoUnit.MICROS)),
+                        action.getId(),
+                        action.getActionType());
+        }
 
         return action;
     }
 
+    /**
+     * Copies the log under the lock, so each call costs O(n) but the result stays valid
+     * while other threads keep logging.
+     */
+    @Override
+    public synchronized List<Action> getAllActions() {
+        return List.copyOf(actionLog);
+    }
+
     @Override
-    public List<Action> getAllActions() {
-        return Collections.unmodifiableList(actionLog);
+    public synchronized int getActionCount() {
+        return actionLog.size();
     }
 
+    /**
+     * Scans the log for the order's actions. This is meant for diagnostics, so no per-order
+     * index is kept on the logging path.
+     */
     @Override
-    public List<Action> getActionsForOrder(String orderId) {
-        return orderActions.getOrDefault(orderId, new ArrayList<>());
+    public synchronized List<Action> getActionsForOrder(String orderId) {
+        List<Action> orderActions = new ArrayList<>();
+        for (Action action : actionLog) {
+            if (action.getId().equals(orderId)) {
+                orderActions.add(action);
+            }
+        }
+        return orderActions;
     }
 
     @Override
     public void printActionLog() {
         LOGGER.info("\n===== ACTION LOG =====");
 
-        for (Action action : actionLog) {
+        for (Action action : getAllActions()) {
             Instant timestamp = Instant.ofEpochMilli(action.getTimestamp() / 1000);
             LOGGER.info("[{}] Order {}: {}",
                     formatter.format(timestamp),
@@ -95,7 +137,7 @@ public class ActionLoggerImpl implements ActionLogger {
      *
      * @return List of Actions
      */
-    public List<Action> getSubmissionActions() {
+    public synchronized List<Action> getSubmissionActions() {
         return new ArrayList<>(actionLog);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface for managing orders without blocking the caller.
+ * Operations on the same order complete in the order they were submitted.
+ */
+public interface AsyncOrderManager {
+
+    /**
+     * Places a new order in the kitchen.
+     *
+     * @param order The order to place
+     * @return A future completed with the place action
+     */
+    CompletableFuture<Action> placeOrderAsync(Order order);
+
+    /**
+     * Moves an order from one storage unit to another.
+     *
+     * @param orderId The ID of the order to move
+     * @param sourceUnitType Source storage unit
+     * @param targetUnitType Target storage unit
+     * @return A future completed with true if the move was successful
+     */
+    CompletableFuture<Boolean> moveOrderAsync(String orderId, String sourceUnitType, String targetUnitType);
+
+    /**
+     * Picks up an order from the kitchen.
+     *
+     * @param orderId The ID of the order to pick up
+     * @return A future completed with the picked up order, or empty if not found
+     */
+    CompletableFuture<Optional<Order>> pickupOrderAsync(String orderId);
+
+    /**
+     * Discards an order from the kitchen.
+     *
+     * @param orderId The ID of the order to discard
+     * @return A future completed with true if an order was discarded
+     */
+    CompletableFuture<Boolean> discardOrderAsync(String orderId);
+}
@@ -0,0 +1,114 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the AsyncOrderManager interface.
+ * Runs the operations of a blocking order manager on an executor. Operations on different
+ * orders run concurrently, while each operation on an order waits for the previous one on
+ * that order, so a pickup never overtakes its own placement.
+ */
+public class AsyncOrderManagerImpl implements AsyncOrderManager {
+    private final OrderManager delegate;
+    private final Executor executor;
+
+    // Most recently submitted operation of each order with operations still running
+    private final Map<String, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new asynchronous order manager.
+     *
+     * @param delegate The order manager applying the operations
+     * @param executor The executor running the operations
+     */
+    public AsyncOrderManagerImpl(OrderManager delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a new asynchronous order manager running each operation on its own virtual thread.
+     */
+    public AsyncOrderManagerImpl(OrderManager delegate) {
+        this(delegate, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Override
+    public CompletableFuture<Action> placeOrderAsync(Order order) {
+        return submit(order.getId(), () -> delegate.placeOrder(order));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> moveOrderAsync(String orderId, String sourceUnitType, String targetUnitType) {
+        return submit(orderId, () -> delegate.moveOrder(orderId, sourceUnitType, targetUnitType));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Order>> pickupOrderAsync(String orderId) {
+        return submit(orderId, () -> delegate.pickupOrder(orderId));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> discardOrderAsync(String orderId) {
+        return submit(orderId, () -> delegate.discardOrder(orderId));
+    }
+
+    /**
+     * Gets the blocking order manager the operations are applied to.
+     */
+    public OrderManager getDelegate() {
+        return delegate;
+    }
+
+    private <T> CompletableFuture<T> submit(String orderId, Supplier<T> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        // Becoming the tail atomically hands over the previous operation to wait for
+        CompletableFuture<?> previous = tails.put(orderId, result);
+        Runnable task = () -> run(orderId, operation, result);
+
+        if (previous == null) {
+            dispatch(orderId, task, result);
+        } else {
+            previous.whenComplete((ignored, error) -> dispatch(orderId, task, result));
+        }
+
+        return result;
+    }
+
+    private void dispatch(String orderId, Runnable task, CompletableFuture<?> result) {
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            finish(orderId, result);
+            result.completeExceptionally(e);
+        }
+    }
+
+    private <T> void run(String orderId, Supplier<T> operation, CompletableFuture<T> result) {
+        try {
+            T value = operation.get();
+            finish(orderId, result);
+            result.complete(value);
+        } catch (Throwable t) {
+            finish(orderId, result);
+            result.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Forgets an order's tail once its last operation is done, so idle orders hold no memory.
+     */
+    private void finish(String orderId, CompletableFuture<?> result) {
+        tails.remove(orderId, result);
+    }
+}
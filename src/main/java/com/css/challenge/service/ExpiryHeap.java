@@ -0,0 +1,95 @@
+package com.css.challenge.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Indexed binary min-heap of tracked orders ordered by expiry time.
+ * Each order remembers its position, so removal takes O(log n) without searching.
+ * Not thread-safe; the freshness tracker guards every heap with its own lock.
+ */
+final class ExpiryHeap {
+    private TrackedOrder[] heap = new TrackedOrder[16];
+    private int size;
+
+    void add(TrackedOrder trackedOrder) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = trackedOrder;
+        trackedOrder.heapIndex = size;
+        size++;
+        siftUp(trackedOrder.heapIndex);
+    }
+
+    void remove(TrackedOrder trackedOrder) {
+        int index = trackedOrder.heapIndex;
+        if (index < 0) {
+            return;
+        }
+
+        size--;
+        TrackedOrder last = heap[size];
+        heap[size] = null;
+        trackedOrder.heapIndex = -1;
+
+        if (index < size) {
+            heap[index] = last;
+            last.heapIndex = index;
+            siftDown(index);
+            siftUp(last.heapIndex);
+        }
+    }
+
+    /**
+     * Gets the order expiring first, or null if the heap is empty.
+     */
+    TrackedOrder peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void copyInto(List<TrackedOrder> target) {
+        for (int i = 0; i < size; i++) {
+            target.add(heap[i]);
+        }
+    }
+
+    private void siftUp(int index) {
+        TrackedOrder trackedOrder = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].deadlineNanos <= trackedOrder.deadlineNanos) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(trackedOrder, index);
+    }
+
+    private void siftDown(int index) {
+        TrackedOrder trackedOrder = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1].deadlineNanos < heap[child].deadlineNanos) {
+                child++;
+            }
+            if (trackedOrder.deadlineNanos <= heap[child].deadlineNanos) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(trackedOrder, index);
+    }
+
+    private void place(TrackedOrder trackedOrder, int index) {
+        heap[index] = trackedOrder;
+        trackedOrder.heapIndex = index;
+    }
+}
@@ -0,0 +1,258 @@
+package com.css.challenge.service;
+
+import com.css.challenge.clock.Clock;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.StorageUnit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Discards orders the moment they expire, so expired orders never hold on to storage capacity.
+ * Each order's expiry is scheduled on a hashed timer wheel when it is placed, rescheduled when
+ * it moves to a storage unit of another temperature, and cancelled when it leaves the kitchen.
+ * Scheduling and cancelling take constant time, and a ticker thread only visits the bucket of
+ * the current tick.
+ */
+public class ExpiryTimerWheel implements OrderLifecycleListener, AutoCloseable {
+    private static final long DEFAULT_TICK_MILLIS = 50;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final OrderManager orderManager;
+    private final FreshnessTracker freshnessTracker;
+    private final Clock clock;
+    private final long tickNanos;
+    private final long startNanos;
+
+    // Head of the timeout list of each bucket; the bucket of a tick is tick & mask; guarded by this
+    private final Timeout[] buckets;
+    private final int mask;
+
+    // Current timeout of each scheduled order; guarded by this
+    private final Map<String, Timeout> timeouts = new HashMap<>();
+
+    // Last tick whose bucket has been processed; guarded by this
+    private long processedTick;
+
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new timer wheel and starts its ticker thread. Register it as a lifecycle
+     * listener of the order manager that should discard expired orders.
+     *
+     * @param orderManager The order manager discarding expired orders
+     * @param freshnessTracker The tracker for order freshness
+     * @param clock The clock of the freshness tracker, which the ticker follows in real time
+     * @param tickMillis The wheel resolution in milliseconds
+     * @param wheelSize The number of buckets, rounded up to a power of two
+     */
+    public ExpiryTimerWheel(
+            OrderManager orderManager,
+            FreshnessTracker freshnessTracker,
+            Clock clock,
+            long tickMillis,
+            int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be greater than zero");
+        }
+        this.orderManager = orderManager;
+        this.freshnessTracker = freshnessTracker;
+        this.clock = clock;
+        this.tickNanos = tickMillis * 1_000_000L;
+        this.startNanos = clock.nanoTime();
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.buckets = new Timeout[size];
+        this.mask = size - 1;
+
+        this.ticker = new Thread(this::runTicker, "expiry-wheel");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * Creates a new timer wheel with a 50 ms resolution.
+     */
+    public ExpiryTimerWheel(OrderManager orderManager, FreshnessTracker freshnessTracker, Clock clock) {
+        this(orderManager, freshnessTracker, clock, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a new timer wheel on the system clock with a 50 ms resolution.
+     */
+    public ExpiryTimerWheel(OrderManager orderManager, FreshnessTracker freshnessTracker) {
+        this(orderManager, freshnessTracker, Clock.system());
+    }
+
+    @Override
+    public void onPlaced(Order order, StorageUnit unit) {
+        schedule(order.getId(), unit.getTemperature());
+    }
+
+    @Override
+    public void onMoved(Order order, StorageUnit sourceUnit, StorageUnit targetUnit) {
+        // The storage temperature changes how fast the order decays, so its expiry moves too
+        schedule(order.getId(), targetUnit.getTemperature());
+    }
+
+    @Override
+    public void onRemoved(Order order, StorageUnit unit, RemovalReason reason) {
+        synchronized (this) {
+            Timeout timeout = timeouts.remove(order.getId());
+            if (timeout != null && !timeout.fired) {
+                unlink(timeout);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of orders with a pending expiry.
+     */
+    public synchronized int getScheduledCount() {
+        return timeouts.size();
+    }
+
+    /**
+     * Stops the ticker thread. Orders already scheduled are no longer discarded.
+     * If interrupted while waiting for the ticker, the interrupt status is restored.
+     */
+    @Override
+    public void close() {
+        running = false;
+        ticker.interrupt();
+        try {
+            ticker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void schedule(String orderId, Temperature storageTemperature) {
+        OptionalLong deadlineNanos = freshnessTracker.getExpiryDeadline(orderId);
+        if (deadlineNanos.isEmpty()) {
+            return; // Already left the kitchen
+        }
+        long deadlineTick = Math.ceilDiv(deadlineNanos.getAsLong() - startNanos, tickNanos);
+
+        synchronized (this) {
+            Timeout previous = timeouts.get(orderId);
+            if (previous != null && !previous.fired) {
+                unlink(previous);
+            }
+
+            Timeout timeout = new Timeout(orderId, storageTemperature, Math.max(deadlineTick, processedTick + 1));
+            link(timeout);
+            timeouts.put(orderId, timeout);
+        }
+    }
+
+    private void runTicker() {
+        while (running) {
+            long nextTick;
+            synchronized (this) {
+                nextTick = processedTick + 1;
+            }
+
+            long sleepNanos = startNanos + nextTick * tickNanos - clock.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            long currentTick = (clock.nanoTime() - startNanos) / tickNanos;
+            for (Timeout timeout : advance(currentTick)) {
+                discardIfExpired(timeout);
+            }
+        }
+    }
+
+    /**
+     * Processes the buckets of every tick up to the current one and returns the timeouts
+     * that came due. Timeouts due in a later round of the wheel stay in their bucket.
+     */
+    private synchronized List<Timeout> advance(long currentTick) {
+        List<Timeout> due = new ArrayList<>();
+        for (long tick = processedTick + 1; tick <= currentTick; tick++) {
+            Timeout timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.deadlineTick <= tick) {
+                    unlink(timeout);
+                    timeout.fired = true;
+                    due.add(timeout);
+                }
+                timeout = next;
+            }
+            processedTick = tick;
+        }
+        return due;
+    }
+
+    /**
+     * Discards the order of a fired timeout, unless the order was rescheduled or removed since.
+     * Called without holding the wheel's lock, because discarding notifies this listener.
+     */
+    private void discardIfExpired(Timeout timeout) {
+        synchronized (this) {
+            if (timeouts.get(timeout.orderId) != timeout) {
+                return;
+            }
+        }
+
+        if (freshnessTracker.isExpired(timeout.orderId, timeout.storageTemperature)) {
+            orderManager.discardOrder(timeout.orderId);
+        } else {
+            // Not expired after all, e.g. its deadline changed after this timeout fired
+            schedule(timeout.orderId, timeout.storageTemperature);
+        }
+    }
+
+    private void link(Timeout timeout) {
+        int bucket = (int) (timeout.deadlineTick & mask);
+        Timeout head = buckets[bucket];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[bucket] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * An order's pending expiry, linked into the bucket of its deadline tick.
+     */
+    private static final class Timeout {
+        private final String orderId;
+        private final Temperature storageTemperature;
+        private final long deadlineTick;
+        private boolean fired;
+        private Timeout prev;
+        private Timeout next;
+
+        Timeout(String orderId, Temperature storageTemperature, long deadlineTick) {
+            this.orderId = orderId;
+            this.storageTemperature = storageTemperature;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
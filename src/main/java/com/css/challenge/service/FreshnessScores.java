@@ -0,0 +1,64 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Order;
+
+import java.util.Arrays;
+
+/**
+ * Freshness of a set of orders, held in parallel arrays so that scoring allocates no boxed values.
+ * Entry i describes the i-th order, in the order the entries were added.
+ */
+public final class FreshnessScores {
+    private Order[] orders;
+    private long[] remainingMillis;
+    private double[] normalizedFreshness;
+    private int size;
+
+    /**
+     * Creates an empty set of scores.
+     *
+     * @param expectedSize The number of orders expected to be scored
+     */
+    public FreshnessScores(int expectedSize) {
+        int capacity = Math.max(1, expectedSize);
+        this.orders = new Order[capacity];
+        this.remainingMillis = new long[capacity];
+        this.normalizedFreshness = new double[capacity];
+    }
+
+    /**
+     * Adds the score of an order.
+     *
+     * @param order The scored order
+     * @param remaining Remaining freshness in milliseconds
+     * @param normalized Freshness between 0 (about to expire) and 1 (fresh)
+     */
+    public void add(Order order, long remaining, double normalized) {
+        if (size == orders.length) {
+            int capacity = size * 2;
+            orders = Arrays.copyOf(orders, capacity);
+            remainingMillis = Arrays.copyOf(remainingMillis, capacity);
+            normalizedFreshness = Arrays.copyOf(normalizedFreshness, capacity);
+        }
+        orders[size] = order;
+        remainingMillis[size] = remaining;
+        normalizedFreshness[size] = normalized;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Order getOrder(int index) {
+        return orders[index];
+    }
+
+    public long getRemainingMillis(int index) {
+        return remainingMillis[index];
+    }
+
+    public double getNormalizedFreshness(int index) {
+        return normalizedFreshness[index];
+    }
+}
@@ -2,9 +2,12 @@ package com.css.challenge.service;
 
 import com.css.challenge.domain.Order;
 import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.StorageUnit;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Interface for tracking order freshness.
@@ -44,19 +47,64 @@ public interface FreshnessTracker {
      */
     boolean isExpired(String orderId, Temperature currentTemp);
 
+    /**
+     * Gets when an order expires at the temperature it is stored at.
+     *
+     * @param orderId The ID of the order
+     * @return The deadline as a reading of the tracker's clock, or empty if the order is not tracked
+     */
+    OptionalLong getExpiryDeadline(String orderId);
+
     /**
      * Gets all orders with their freshness values normalized to a value between 0 and 1.
      * A value closer to 0 means the order is close to expiration.
+     * This covers every tracked order; prefer {@link #scoreOrders(StorageUnit)} on hot paths.
      *
      * @return Map of order IDs to normalized freshness values
      */
     Map<String, Double> getNormalizedFreshnessValues();
 
     /**
-     * Gets orders sorted by their freshness values (most stale first).
+     * Gets the freshness of one order normalized to a value between 0 and 1, as in
+     * {@link #getNormalizedFreshnessValues()}.
+     *
+     * @param orderId The ID of the order
+     * @return The normalized freshness, or 0 if the order is not being tracked
+     */
+    double getNormalizedFreshness(String orderId);
+
+    /**
+     * Scores only the orders in a storage unit.
+     * Normalized values range from 0 (about to expire) to 1 (fresh), as in
+     * {@link #getNormalizedFreshnessValues()}, and orders not being tracked score 0.
+     *
+     * @param unit The storage unit whose orders are scored
+     * @return The freshness of each order in the unit
+     */
+    FreshnessScores scoreOrders(StorageUnit unit);
+
+    /**
+     * Gets the orders stored at a temperature, sorted by expiry (most stale first).
      *
      * @param temperature The storage temperature to consider
      * @return List of orders sorted by freshness (ascending)
      */
     List<Order> getOrdersSortedByFreshness(Temperature temperature);
+
+    /**
+     * Gets the order stored at a temperature that expires first.
+     *
+     * @param storageTemp The storage temperature
+     * @return The least fresh order, or empty if no order is stored at the temperature
+     */
+    Optional<Order> peekLeastFresh(Temperature storageTemp);
+
+    /**
+     * Gets the order of an ideal temperature, stored at a temperature, that expires first.
+     *
+     * @param storageTemp The storage temperature
+     * @param orderTemp The ideal temperature of the order
+     * @return The least fresh matching order, or empty if there is none
+     */
+    Optional<Order> peekLeastFresh(Temperature storageTemp, Temperature orderTemp);
 }
\ No newline at end of file
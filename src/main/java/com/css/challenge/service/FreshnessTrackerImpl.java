@@ -1,98 +1,208 @@
 package com.css.challenge.service;
 
+import com.css.challenge.clock.Clock;
 import com.css.challenge.domain.Order;
 import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.StorageUnit;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the FreshnessTracker interface.
  * Thread-safe to handle concurrent order operations.
+ * Besides the lookup map, tracked orders are kept in expiry-ordered heaps per storage temperature
+ * and ideal temperature, so the least fresh order at a temperature is found without scanning.
+ * Each tracked order carries an absolute deadline computed when it is placed or moved, so
+ * freshness queries only compare that deadline against a single clock reading.
  */
 public class FreshnessTrackerImpl implements FreshnessTracker {
-    // Map of order ID to order
-    private final Map<String, Order> trackedOrders;
+    private static final Temperature[] TEMPERATURES = Temperature.values();
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
 
-    // Map of order ID to current storage temperature
-    private final Map<String, Temperature> orderTemperatures;
+    // Clock deadlines are computed and compared on
+    private final Clock clock;
+
+    // Map of order ID to the tracked order and its storage temperature
+    private final Map<String, TrackedOrder> trackedOrders;
+
+    // Expiry heaps indexed by storage temperature, then ideal temperature; guarded by this instance
+    private final ExpiryHeap[][] expiryHeaps;
 
     /**
-     * Creates a new freshness tracker.
+     * Creates a new freshness tracker on the system clock.
      */
     public FreshnessTrackerImpl() {
+        this(Clock.system());
+    }
+
+    /**
+     * Creates a new freshness tracker.
+     *
+     * @param clock The clock deadlines are computed and compared on
+     */
+    public FreshnessTrackerImpl(Clock clock) {
+        this.clock = clock;
         this.trackedOrders = new ConcurrentHashMap<>();
-        this.orderTemperatures = new ConcurrentHashMap<>();
+        this.expiryHeaps = new ExpiryHeap[TEMPERATURES.length][TEMPERATURES.length];
+        for (ExpiryHeap[] heaps : expiryHeaps) {
+            for (int i = 0; i < heaps.length; i++) {
+                heaps[i] = new ExpiryHeap();
+            }
+        }
     }
 
+    /**
+     * Tracks a placed order, or recomputes the deadline of a moved one. A moved order keeps the
+     * freshness it has left after the time spent at its previous storage temperature.
+     */
     @Override
     public void trackOrder(Order order, Temperature storageTemp) {
-        trackedOrders.put(order.getId(), order);
-        orderTemperatures.put(order.getId(), storageTemp);
+        long nowNanos = clock.nanoTime();
+        int decayRate = TrackedOrder.decayRate(order, storageTemp);
+
+        synchronized (this) {
+            TrackedOrder previous = trackedOrders.get(order.getId());
+            long deadlineNanos;
+            if (previous != null) {
+                deadlineNanos = nowNanos + previous.remainingFreshnessNanos(nowNanos) / decayRate;
+            } else {
+                // Freshness starts decaying when the order is placed in the kitchen
+                deadlineNanos = nowNanos + order.getFreshness() * NANOS_PER_SECOND / decayRate;
+            }
+
+            TrackedOrder trackedOrder = new TrackedOrder(order, storageTemp, deadlineNanos);
+            trackedOrders.put(order.getId(), trackedOrder);
+            if (previous != null) {
+                heapFor(previous).remove(previous);
+            }
+            heapFor(trackedOrder).add(trackedOrder);
+        }
     }
 
     @Override
     public void stopTracking(String orderId) {
-        trackedOrders.remove(orderId);
-        orderTemperatures.remove(orderId);
+        synchronized (this) {
+            TrackedOrder trackedOrder = trackedOrders.remove(orderId);
+            if (trackedOrder != null) {
+                heapFor(trackedOrder).remove(trackedOrder);
+            }
+        }
     }
 
     @Override
     public long getRemainingFreshness(String orderId, Temperature currentTemp) {
-        Order order = trackedOrders.get(orderId);
-        if (order == null) {
+        TrackedOrder trackedOrder = trackedOrders.get(orderId);
+        if (trackedOrder == null) {
             return 0;
         }
-        return order.getRemainingFreshness(currentTemp);
+        long remainingNanos = trackedOrder.remainingFreshnessNanos(clock.nanoTime());
+        return remainingNanos / TrackedOrder.decayRate(trackedOrder.order, currentTemp) / NANOS_PER_MILLI;
     }
 
     @Override
     public boolean isExpired(String orderId, Temperature currentTemp) {
-        Order order = trackedOrders.get(orderId);
-        if (order == null) {
+        TrackedOrder trackedOrder = trackedOrders.get(orderId);
+        if (trackedOrder == null) {
             return true; // Non-existent orders are considered expired
         }
-        return order.isExpired(currentTemp);
+        // Freshness runs out at the same moment whatever temperature it is measured at
+        return trackedOrder.deadlineNanos - clock.nanoTime() <= 0;
+    }
+
+    @Override
+    public OptionalLong getExpiryDeadline(String orderId) {
+        TrackedOrder trackedOrder = trackedOrders.get(orderId);
+        return trackedOrder == null ? OptionalLong.empty() : OptionalLong.of(trackedOrder.deadlineNanos);
     }
 
     @Override
     public Map<String, Double> getNormalizedFreshnessValues() {
         Map<String, Double> normalizedValues = new HashMap<>();
+        long nowNanos = clock.nanoTime();
 
-        for (Map.Entry<String, Order> entry : trackedOrders.entrySet()) {
-            String orderId = entry.getKey();
-            Order order = entry.getValue();
-            Temperature currentTemp = orderTemperatures.getOrDefault(orderId, Temperature.ROOM);
+        for (TrackedOrder trackedOrder : trackedOrders.values()) {
+            normalizedValues.put(trackedOrder.order.getId(), normalize(trackedOrder, nowNanos));
+        }
 
-            // Get freshness in milliseconds
-            long remainingFreshness = order.getRemainingFreshness(currentTemp);
+        return normalizedValues;
+    }
 
-            // Calculate original total freshness in milliseconds
-            long totalFreshness;
-            if (currentTemp == order.getTemp()) {
-                totalFreshness = order.getFreshness() * 1000L;
-            } else {
-                totalFreshness = (order.getFreshness() * 1000L) / 2;
+    @Override
+    public double getNormalizedFreshness(String orderId) {
+        TrackedOrder trackedOrder = trackedOrders.get(orderId);
+        return trackedOrder == null ? 0.0 : normalize(trackedOrder, clock.nanoTime());
+    }
+
+    @Override
+    public FreshnessScores scoreOrders(StorageUnit unit) {
+        FreshnessScores scores = new FreshnessScores(unit.getOrderCount());
+        long nowNanos = clock.nanoTime();
+
+        unit.forEachOrder(order -> {
+            TrackedOrder trackedOrder = trackedOrders.get(order.getId());
+            if (trackedOrder == null) {
+                scores.add(order, 0, 0.0);
+                return;
             }
 
-            // Normalize to a value between 0 and 1
-            double normalizedValue = (double) remainingFreshness / totalFreshness;
-            normalizedValues.put(orderId, Math.max(0.0, Math.min(1.0, normalizedValue)));
-        }
+            long remainingMillis = Math.max(0, trackedOrder.deadlineNanos - nowNanos) / NANOS_PER_MILLI;
+            scores.add(order, remainingMillis, normalize(trackedOrder, nowNanos));
+        });
 
-        return normalizedValues;
+        return scores;
     }
 
+    /**
+     * Normalizes remaining freshness to a value between 0 and 1 of the order's total freshness.
+     * Both are measured at the ideal temperature, so the value is the same at any storage temperature.
+     */
+    private static double normalize(TrackedOrder trackedOrder, long nowNanos) {
+        long totalFreshness = trackedOrder.order.getFreshness() * NANOS_PER_SECOND;
+        double normalizedValue = (double) trackedOrder.remainingFreshnessNanos(nowNanos) / totalFreshness;
+        return Math.max(0.0, Math.min(1.0, normalizedValue));
+    }
+
+    /**
+     * Collects the orders stored at the temperature from its heaps, so only those orders are sorted.
+     */
     @Override
     public List<Order> getOrdersSortedByFreshness(Temperature temperature) {
-        // Get all orders that are currently tracked
-        return trackedOrders.values().stream()
-                // Sort by remaining freshness (ascending)
-                .sorted(Comparator.comparingLong(order ->
-                        order.getRemainingFreshness(temperature)))
-                .collect(Collectors.toList());
+        List<TrackedOrder> stored = new ArrayList<>();
+        synchronized (this) {
+            for (ExpiryHeap heap : expiryHeaps[temperature.ordinal()]) {
+                heap.copyInto(stored);
+            }
+        }
+
+        stored.sort(Comparator.comparingLong(trackedOrder -> trackedOrder.deadlineNanos));
+        List<Order> orders = new ArrayList<>(stored.size());
+        for (TrackedOrder trackedOrder : stored) {
+            orders.add(trackedOrder.order);
+        }
+        return orders;
+    }
+
+    @Override
+    public synchronized Optional<Order> peekLeastFresh(Temperature storageTemp) {
+        TrackedOrder leastFresh = null;
+        for (ExpiryHeap heap : expiryHeaps[storageTemp.ordinal()]) {
+            TrackedOrder candidate = heap.peek();
+            if (candidate != null && (leastFresh == null || candidate.deadlineNanos < leastFresh.deadlineNanos)) {
+                leastFresh = candidate;
+            }
+        }
+        return leastFresh == null ? Optional.empty() : Optional.of(leastFresh.order);
+    }
+
+    @Override
+    public synchronized Optional<Order> peekLeastFresh(Temperature storageTemp, Temperature orderTemp) {
+        TrackedOrder leastFresh = expiryHeaps[storageTemp.ordinal()][orderTemp.ordinal()].peek();
+        return leastFresh == null ? Optional.empty() : Optional.of(leastFresh.order);
+    }
+
+    private ExpiryHeap heapFor(TrackedOrder trackedOrder) {
+        return expiryHeaps[trackedOrder.storageTemperature.ordinal()][trackedOrder.order.getTemp().ordinal()];
     }
-}
\ No newline at end of file
+}
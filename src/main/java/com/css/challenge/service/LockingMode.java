@@ -0,0 +1,24 @@
+package com.css.challenge.service;
+
+/**
+ * Represents the locking scheme an order manager uses to coordinate concurrent operations.
+ */
+public enum LockingMode {
+    /**
+     * A single kitchen-wide write lock serializes every mutating operation.
+     */
+    GLOBAL,
+
+    /**
+     * Each storage unit has its own lock. Operations lock only the units they touch,
+     * and operations spanning several units acquire the locks in the kitchen's fixed order.
+     */
+    STRIPED,
+
+    /**
+     * No locks are taken. Every mutating operation must come from a single owner thread,
+     * as in {@link SingleWriterOrderManager}. Storage units should then use the confined
+     * slot layout, which drops their own synchronization as well.
+     */
+    CONFINED
+}
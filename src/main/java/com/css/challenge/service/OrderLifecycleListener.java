@@ -0,0 +1,43 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.storage.StorageUnit;
+
+/**
+ * Receives notifications as orders move through the kitchen.
+ * Notifications are delivered on the thread performing the operation, while the order manager
+ * still holds its locks, so implementations must return quickly and must not call back into
+ * the order manager on that thread.
+ */
+public interface OrderLifecycleListener {
+
+    /**
+     * Called after an order has been stored and its placement logged.
+     *
+     * @param order The placed order
+     * @param unit The storage unit holding the order
+     */
+    default void onPlaced(Order order, StorageUnit unit) {
+    }
+
+    /**
+     * Called after an order has been moved and the move logged.
+     *
+     * @param order The moved order
+     * @param sourceUnit The storage unit the order left
+     * @param targetUnit The storage unit now holding the order
+     */
+    default void onMoved(Order order, StorageUnit sourceUnit, StorageUnit targetUnit) {
+    }
+
+    /**
+     * Called after an order has left the kitchen and its removal logged.
+     *
+     * @param order The removed order
+     * @param unit The storage unit the order left
+     * @param reason Why the order left the kitchen
+     */
+    default void onRemoved(Order order, StorageUnit unit, RemovalReason reason) {
+    }
+}
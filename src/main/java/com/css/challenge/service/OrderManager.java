@@ -2,7 +2,9 @@ package com.css.challenge.service;
 
 import com.css.challenge.domain.Action;
 import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,14 @@ public interface OrderManager {
      */
     Action placeOrder(Order order);
 
+    /**
+     * Places a batch of orders, with the same outcome as placing them one by one in list order.
+     *
+     * @param orders The orders to place
+     * @return The place action of each order, in list order
+     */
+    List<Action> placeOrders(List<Order> orders);
+
     /**
      * Moves an order from one storage unit to another.
      *
@@ -33,6 +43,20 @@ public interface OrderManager {
      */
     boolean moveOrder(String orderId, String sourceUnitType, String targetUnitType);
 
+    /**
+     * Moves an order from one storage unit to another, unless that would wait for a lock held
+     * by another operation. Background work such as rebalancing uses it to stay off the
+     * placement path. The default simply moves the order, for implementations with no locks to wait for.
+     *
+     * @param orderId The ID of the order to move
+     * @param sourceUnitType Source storage unit
+     * @param targetUnitType Target storage unit
+     * @return true if the move was successful, false if it failed or would have waited
+     */
+    default boolean tryMoveOrder(String orderId, String sourceUnitType, String targetUnitType) {
+        return moveOrder(orderId, sourceUnitType, targetUnitType);
+    }
+
     /**
      * Picks up an order from the kitchen.
      *
@@ -41,6 +65,14 @@ public interface OrderManager {
      */
     Optional<Order> pickupOrder(String orderId);
 
+    /**
+     * Picks up a batch of orders, with the same outcome as picking them up one by one in order.
+     *
+     * @param orderIds The IDs of the orders to pick up
+     * @return The pickup action of each order that was found, in the given order
+     */
+    List<Action> pickupOrders(Collection<String> orderIds);
+
     /**
      * Discards an order from the kitchen.
      *
@@ -71,4 +103,12 @@ public interface OrderManager {
      * @return The storage unit name if found, or empty if not found
      */
     Optional<String> getOrderLocation(String orderId);
-}
\ No newline at end of file
+
+    /**
+     * Gets why an order recently left the kitchen.
+     *
+     * @param orderId The ID of the order
+     * @return The removal reason, or empty if the order was not removed recently
+     */
+    Optional<RemovalReason> getRemovalReason(String orderId);
+}
@@ -3,14 +3,18 @@ package com.css.challenge.service;
 import com.css.challenge.domain.Action;
 import com.css.challenge.domain.ActionType;
 import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
 import com.css.challenge.domain.StorageType;
 import com.css.challenge.domain.Temperature;
+import com.css.challenge.exception.StorageFullException;
 import com.css.challenge.storage.Kitchen;
 import com.css.challenge.storage.StorageUnit;
 import com.css.challenge.strategy.CompositeDiscardStrategy;
+import com.css.challenge.strategy.DiscardBatch;
 import com.css.challenge.strategy.DiscardStrategy;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -23,17 +27,41 @@ public class OrderManagerImpl implements OrderManager {
     private final ActionLogger actionLogger;
     private final FreshnessTracker freshnessTracker;
     private final DiscardStrategy discardStrategy;
+    private final LockingMode lockingMode;
     private final ReadWriteLock orderLock = new ReentrantReadWriteLock();
+    private final List<OrderLifecycleListener> listeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Creates a new order manager.
+     *
+     * @param kitchen The kitchen holding the storage units
+     * @param actionLogger The logger recording every action
+     * @param freshnessTracker The tracker for order freshness
+     * @param discardStrategy The strategy selecting orders to discard
+     * @param lockingMode The locking scheme used to coordinate concurrent operations
+     */
     public OrderManagerImpl(
             Kitchen kitchen,
             ActionLogger actionLogger,
             FreshnessTracker freshnessTracker,
-            DiscardStrategy discardStrategy) {
+            DiscardStrategy discardStrategy,
+            LockingMode lockingMode) {
         this.kitchen = kitchen;
         this.actionLogger = actionLogger;
         this.freshnessTracker = freshnessTracker;
         this.discardStrategy = discardStrategy;
+        this.lockingMode = lockingMode;
+    }
+
+    /**
+     * Creates a new order manager guarded by a single kitchen-wide lock.
+     */
+    public OrderManagerImpl(
+            Kitchen kitchen,
+            ActionLogger actionLogger,
+            FreshnessTracker freshnessTracker,
+            DiscardStrategy discardStrategy) {
+        this(kitchen, actionLogger, freshnessTracker, discardStrategy, LockingMode.GLOBAL);
     }
 
     /**
@@ -43,69 +71,138 @@ public class OrderManagerImpl implements OrderManager {
         this(kitchen, actionLogger, freshnessTracker, new CompositeDiscardStrategy());
     }
 
+    /**
+     * Registers a listener notified of every placement, move and removal.
+     *
+     * @param listener The listener to register
+     */
+    public void addLifecycleListener(OrderLifecycleListener listener) {
+        listeners.add(listener);
+    }
+
     @Override
     public Action placeOrder(Order order) {
-        orderLock.writeLock().lock();
-        try {
-            // First, try to store in ideal storage unit
+        // With striped locks, the common case only needs the ideal unit, so placements
+        // on different units proceed in parallel
+        if (lockingMode == LockingMode.STRIPED) {
             StorageUnit idealUnit = kitchen.getIdealStorageUnit(order);
-            if (kitchen.storeOrder(order, idealUnit)) {
-                freshnessTracker.trackOrder(order, idealUnit.getTemperature());
-                return actionLogger.logAction(order.getId(), ActionType.PLACE);
+            kitchen.lockUnit(idealUnit);
+            try {
+                if (kitchen.storeOrder(order, idealUnit)) {
+                    return recordPlacement(order, idealUnit);
+                }
+            } finally {
+                kitchen.unlockUnit(idealUnit);
             }
+        }
 
-            // If ideal unit is full, try the shelf
-            StorageUnit shelf = kitchen.getShelf();
-            if (shelf.hasCapacity()) {
-                kitchen.storeOrder(order, shelf);
-                freshnessTracker.trackOrder(order, shelf.getTemperature());
-                return actionLogger.logAction(order.getId(), ActionType.PLACE);
-            }
+        lockKitchen();
+        try {
+            return placeLocked(order, null);
+        } finally {
+            unlockKitchen();
+        }
+    }
 
-            // If shelf is full, try to move an existing order from shelf to its ideal unit
-            boolean foundSpaceOnShelf = tryMoveOrderFromShelf();
+    @Override
+    public List<Action> placeOrders(List<Order> orders) {
+        List<Action> actions = new ArrayList<>(orders.size());
 
-            if (foundSpaceOnShelf && shelf.hasCapacity()) {
-                kitchen.storeOrder(order, shelf);
-                freshnessTracker.trackOrder(order, shelf.getTemperature());
-                return actionLogger.logAction(order.getId(), ActionType.PLACE);
+        // A single kitchen lock covers the whole batch, so orders are placed exactly as a
+        // sequential loop would place them. Discards from each shelf share one evaluation of it.
+        lockKitchen();
+        try {
+            Map<StorageUnit, DiscardBatch> discards = new HashMap<>();
+            for (Order order : orders) {
+                actions.add(placeLocked(order, discards));
             }
+        } finally {
+            unlockKitchen();
+        }
+
+        return actions;
+    }
 
-            // If still full, we need to discard an order based on our selection criteria
-            String orderToDiscard = selectOrderToDiscard();
-            discardOrder(orderToDiscard);
+    /**
+     * Places an order while the caller holds the kitchen lock.
+     *
+     * @param order The order to place
+     * @param discards The discard selections of the current batch by shelf, or null outside a batch
+     * @return The logged place action
+     * @throws StorageFullException if the shelf has no room even after a discard
+     */
+    private Action placeLocked(Order order, Map<StorageUnit, DiscardBatch> discards) {
+        // First, try to store in ideal storage unit
+        StorageUnit idealUnit = kitchen.getIdealStorageUnit(order);
+        if (kitchen.storeOrder(order, idealUnit)) {
+            return recordPlacement(order, idealUnit);
+        }
 
-            // Now there should be space on the shelf
-            kitchen.storeOrder(order, shelf);
-            freshnessTracker.trackOrder(order, shelf.getTemperature());
-            return actionLogger.logAction(order.getId(), ActionType.PLACE);
+        // If ideal unit is full, try the shelf. Every later step works on this same shelf,
+        // since another shelf may be chosen once this one changes.
+        StorageUnit shelf = kitchen.getShelf();
+        if (shelf.hasCapacity() && kitchen.storeOrder(order, shelf)) {
+            return recordPlacement(order, shelf);
+        }
 
-        } finally {
-            orderLock.writeLock().unlock();
+        // If shelf is full, try to move an existing order from shelf to its ideal unit
+        boolean foundSpaceOnShelf = tryMoveOrderFromShelf(shelf);
+
+        if (foundSpaceOnShelf && shelf.hasCapacity() && kitchen.storeOrder(order, shelf)) {
+            return recordPlacement(order, shelf);
+        }
+
+        // If still full, we need to discard an order based on our selection criteria
+        String orderToDiscard = discards != null
+                ? discards.computeIfAbsent(shelf, unit -> discardStrategy.startBatch(unit, freshnessTracker))
+                        .selectOrderToDiscard()
+                : selectOrderToDiscard(shelf);
+        discardOrder(orderToDiscard);
+
+        // The kitchen lock keeps the freed slot for this order
+        if (!kitchen.storeOrder(order, shelf)) {
+            throw new StorageFullException(shelf.getType());
         }
+        return recordPlacement(order, shelf);
+    }
+
+    /**
+     * Starts tracking a stored order and logs its placement.
+     *
+     * @param order The order that was stored
+     * @param unit The storage unit the order was stored in
+     * @return The logged place action
+     */
+    private Action recordPlacement(Order order, StorageUnit unit) {
+        freshnessTracker.trackOrder(order, unit.getTemperature());
+        Action action = actionLogger.logAction(order.getId(), ActionType.PLACE);
+        for (OrderLifecycleListener listener : listeners) {
+            listener.onPlaced(order, unit);
+        }
+        return action;
     }
 
     /**
      * Tries to move an order from the shelf to its ideal storage unit.
      *
+     * @param shelf The shelf to make room on
      * @return true if an order was moved successfully, false otherwise
      */
-    private boolean tryMoveOrderFromShelf() {
-        StorageUnit shelf = kitchen.getShelf();
-        Map<String, Order> shelfOrders = shelf.getAllOrders();
-
+    private boolean tryMoveOrderFromShelf(StorageUnit shelf) {
         // Look for hot orders on the shelf that could go to the heater
-        for (Map.Entry<String, Order> entry : shelfOrders.entrySet()) {
-            if (entry.getValue().getTemp() == Temperature.HOT && kitchen.getHeater().hasCapacity()) {
-                moveOrder(entry.getKey(), StorageType.SHELF.name(), StorageType.HEATER.name());
+        if (kitchen.getHeater().hasCapacity()) {
+            Optional<Order> hotOrder = shelf.findAnyOrder(Temperature.HOT);
+            if (hotOrder.isPresent()) {
+                moveOrder(hotOrder.get().getId(), StorageType.SHELF.name(), StorageType.HEATER.name());
                 return true;
             }
         }
 
         // Look for cold orders on the shelf that could go to the cooler
-        for (Map.Entry<String, Order> entry : shelfOrders.entrySet()) {
-            if (entry.getValue().getTemp() == Temperature.COLD && kitchen.getCooler().hasCapacity()) {
-                moveOrder(entry.getKey(), StorageType.SHELF.name(), StorageType.COOLER.name());
+        if (kitchen.getCooler().hasCapacity()) {
+            Optional<Order> coldOrder = shelf.findAnyOrder(Temperature.COLD);
+            if (coldOrder.isPresent()) {
+                moveOrder(coldOrder.get().getId(), StorageType.SHELF.name(), StorageType.COOLER.name());
                 return true;
             }
         }
@@ -116,25 +213,47 @@ public class OrderManagerImpl implements OrderManager {
     /**
      * Selects an order to discard using the configured discard strategy.
      *
+     * @param shelf The shelf to discard from
      * @return ID of the order to discard
      */
-    private String selectOrderToDiscard() {
-        StorageUnit shelf = kitchen.getShelf();
-        Map<String, Order> shelfOrders = shelf.getAllOrders();
-
-        return discardStrategy.selectOrderToDiscard(shelfOrders, shelf, freshnessTracker);
+    private String selectOrderToDiscard(StorageUnit shelf) {
+        return discardStrategy.selectOrderToDiscard(shelf, freshnessTracker);
     }
 
     @Override
     public boolean moveOrder(String orderId, String sourceUnitType, String targetUnitType) {
-        orderLock.writeLock().lock();
-        try {
-            StorageType sourceType = StorageType.valueOf(sourceUnitType);
-            StorageType targetType = StorageType.valueOf(targetUnitType);
+        return moveOrder(orderId, sourceUnitType, targetUnitType, true);
+    }
+
+    /**
+     * Moves the order only if the locks it needs are free at once, so a background move
+     * gives way to placements and pickups instead of queueing behind them.
+     */
+    @Override
+    public boolean tryMoveOrder(String orderId, String sourceUnitType, String targetUnitType) {
+        return moveOrder(orderId, sourceUnitType, targetUnitType, false);
+    }
+
+    private boolean moveOrder(String orderId, String sourceUnitType, String targetUnitType, boolean wait) {
+        StorageType sourceType = StorageType.valueOf(sourceUnitType);
+        StorageType targetType = StorageType.valueOf(targetUnitType);
+
+        // The source is whichever unit of the source type holds the order
+        Optional<StorageUnit> sourceOpt = kitchen.findStorageUnitForOrder(orderId)
+                .filter(unit -> unit.getType() == sourceType);
+        if (sourceOpt.isEmpty()) {
+            return false;
+        }
 
-            StorageUnit sourceUnit = kitchen.getStorageUnit(sourceType);
-            StorageUnit targetUnit = kitchen.getStorageUnit(targetType);
+        StorageUnit sourceUnit = sourceOpt.get();
+        StorageUnit targetUnit = kitchen.getStorageUnit(targetType);
 
+        if (wait) {
+            lockUnits(sourceUnit, targetUnit);
+        } else if (!tryLockUnits(sourceUnit, targetUnit)) {
+            return false;
+        }
+        try {
             boolean moved = kitchen.moveOrder(orderId, sourceUnit, targetUnit);
 
             if (moved) {
@@ -144,46 +263,162 @@ public class OrderManagerImpl implements OrderManager {
 
                 // Log the move action
                 actionLogger.logAction(orderId, ActionType.MOVE);
+                orderOpt.ifPresent(order -> {
+                    for (OrderLifecycleListener listener : listeners) {
+                        listener.onMoved(order, sourceUnit, targetUnit);
+                    }
+                });
                 return true;
             }
 
             return false;
         } finally {
-            orderLock.writeLock().unlock();
+            unlockUnits(sourceUnit, targetUnit);
         }
     }
 
     @Override
     public Optional<Order> pickupOrder(String orderId) {
-        orderLock.writeLock().lock();
-        try {
-            Optional<Order> orderOpt = kitchen.removeOrder(orderId);
+        return removeOrder(orderId, ActionType.PICKUP, RemovalReason.PICKED_UP);
+    }
 
-            if (orderOpt.isPresent()) {
-                freshnessTracker.stopTracking(orderId);
-                actionLogger.logAction(orderId, ActionType.PICKUP);
-            }
+    @Override
+    public List<Action> pickupOrders(Collection<String> orderIds) {
+        List<Action> actions = new ArrayList<>(orderIds.size());
 
-            return orderOpt;
+        lockKitchen();
+        try {
+            for (String orderId : orderIds) {
+                StorageUnit unit = kitchen.locateOrder(orderId);
+                Optional<Order> orderOpt = kitchen.removeOrder(orderId, RemovalReason.PICKED_UP);
+                if (orderOpt.isPresent()) {
+                    freshnessTracker.stopTracking(orderId);
+                    actions.add(actionLogger.logAction(orderId, ActionType.PICKUP));
+                    notifyRemoved(orderOpt.get(), unit, RemovalReason.PICKED_UP);
+                }
+            }
         } finally {
-            orderLock.writeLock().unlock();
+            unlockKitchen();
         }
+
+        return actions;
     }
 
     @Override
     public boolean discardOrder(String orderId) {
-        orderLock.writeLock().lock();
-        try {
-            Optional<Order> orderOpt = kitchen.removeOrder(orderId);
+        return removeOrder(orderId, ActionType.DISCARD, RemovalReason.DISCARDED).isPresent();
+    }
 
-            if (orderOpt.isPresent()) {
-                freshnessTracker.stopTracking(orderId);
-                actionLogger.logAction(orderId, ActionType.DISCARD);
-                return true;
+    /**
+     * Removes an order from the kitchen, stops tracking it and logs the given action.
+     *
+     * @param orderId The ID of the order to remove
+     * @param actionType The action to log for the removal
+     * @param reason Why the order is leaving the kitchen
+     * @return The removed order, or empty if not found
+     */
+    private Optional<Order> removeOrder(String orderId, ActionType actionType, RemovalReason reason) {
+        if (lockingMode == LockingMode.CONFINED) {
+            return removeAndLog(orderId, actionType, reason);
+        }
+
+        if (lockingMode == LockingMode.GLOBAL) {
+            orderLock.writeLock().lock();
+            try {
+                return removeAndLog(orderId, actionType, reason);
+            } finally {
+                orderLock.writeLock().unlock();
             }
+        }
 
-            return false;
-        } finally {
+        while (true) {
+            StorageUnit unit = kitchen.locateOrder(orderId);
+            if (unit == null) {
+                return Optional.empty();
+            }
+
+            kitchen.lockUnit(unit);
+            try {
+                // The order may have been moved before the lock was acquired, in which case we retry
+                if (unit.containsOrder(orderId)) {
+                    return removeAndLog(orderId, actionType, reason);
+                }
+            } finally {
+                kitchen.unlockUnit(unit);
+            }
+        }
+    }
+
+    private Optional<Order> removeAndLog(String orderId, ActionType actionType, RemovalReason reason) {
+        // The caller's locks keep the order in this unit until it is removed
+        StorageUnit unit = kitchen.locateOrder(orderId);
+        Optional<Order> orderOpt = kitchen.removeOrder(orderId, reason);
+
+        if (orderOpt.isPresent()) {
+            freshnessTracker.stopTracking(orderId);
+            actionLogger.logAction(orderId, actionType);
+            notifyRemoved(orderOpt.get(), unit, reason);
+        }
+
+        return orderOpt;
+    }
+
+    private void notifyRemoved(Order order, StorageUnit unit, RemovalReason reason) {
+        for (OrderLifecycleListener listener : listeners) {
+            listener.onRemoved(order, unit, reason);
+        }
+    }
+
+    /**
+     * Locks the given storage units, or the kitchen-wide lock in global locking mode.
+     * Confined mode takes no locks.
+     */
+    private void lockUnits(StorageUnit... units) {
+        if (lockingMode == LockingMode.STRIPED) {
+            kitchen.lockUnits(units);
+        } else if (lockingMode == LockingMode.GLOBAL) {
+            orderLock.writeLock().lock();
+        }
+    }
+
+    /**
+     * Locks like {@link #lockUnits(StorageUnit...)}, but only if no lock is busy.
+     *
+     * @return true if the locks were acquired, false if any of them was busy
+     */
+    private boolean tryLockUnits(StorageUnit... units) {
+        if (lockingMode == LockingMode.STRIPED) {
+            return kitchen.tryLockUnits(units);
+        } else if (lockingMode == LockingMode.GLOBAL) {
+            return orderLock.writeLock().tryLock();
+        }
+        return true;
+    }
+
+    private void unlockUnits(StorageUnit... units) {
+        if (lockingMode == LockingMode.STRIPED) {
+            kitchen.unlockUnits(units);
+        } else if (lockingMode == LockingMode.GLOBAL) {
+            orderLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Locks every storage unit, or the kitchen-wide lock in global locking mode.
+     * Confined mode takes no locks.
+     */
+    private void lockKitchen() {
+        if (lockingMode == LockingMode.STRIPED) {
+            kitchen.lockAllUnits();
+        } else if (lockingMode == LockingMode.GLOBAL) {
+            orderLock.writeLock().lock();
+        }
+    }
+
+    private void unlockKitchen() {
+        if (lockingMode == LockingMode.STRIPED) {
+            kitchen.unlockAllUnits();
+        } else if (lockingMode == LockingMode.GLOBAL) {
             orderLock.writeLock().unlock();
         }
     }
@@ -195,12 +430,17 @@ public class OrderManagerImpl implements OrderManager {
 
     @Override
     public boolean orderExists(String orderId) {
-        return kitchen.findStorageUnitForOrder(orderId).isPresent();
+        return kitchen.locateOrder(orderId) != null;
     }
 
     @Override
     public Optional<String> getOrderLocation(String orderId) {
-        Optional<StorageUnit> unitOpt = kitchen.findStorageUnitForOrder(orderId);
-        return unitOpt.map(unit -> unit.getType().name());
+        StorageUnit unit = kitchen.locateOrder(orderId);
+        return unit == null ? Optional.empty() : Optional.of(unit.getType().name());
+    }
+
+    @Override
+    public Optional<RemovalReason> getRemovalReason(String orderId) {
+        return kitchen.getRemovalReason(orderId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,416 @@
+package com.css.challenge.service;
+
+import com.css.challenge.clock.Clock;
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.ActionType;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.storage.BoundedCache;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.storage.StorageUnit;
+import com.css.challenge.strategy.DiscardStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Order manager that hash-partitions orders across independent kitchen shards.
+ * Each shard has its own kitchen, locks, freshness tracker and action logger, so orders on
+ * different shards never contend. Orders are sharded by ID unless a shard key is given,
+ * such as a brand or region derived from the order.
+ * With a shard key, the shard of each order is remembered while it is in a kitchen and for
+ * a bounded time after it leaves, so that calls naming only the order ID reach its shard.
+ */
+public class ShardedOrderManager implements OrderManager {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedOrderManager.class);
+
+    // Removed orders routed per shard, matching the tombstones each shard's kitchen keeps
+    private static final int RETIRED_ROUTES_PER_SHARD = 4096;
+
+    private final List<OrderManager> shards;
+    private final List<ActionLogger> shardLoggers;
+
+    // Derives the shard key from an order, or null to shard by order ID
+    private final Function<Order, String> shardKey;
+
+    // Shard of each order in a kitchen under a custom shard key, so that ID-only calls can be routed
+    private final Map<String, Integer> orderShards = new ConcurrentHashMap<>();
+
+    // Shard of each recently removed order under a custom shard key
+    private final BoundedCache<String, Integer> retiredRoutes;
+
+    private final ActionLogger actionLogger = new MergedActionLogger();
+
+    /**
+     * Creates a new sharded order manager over existing shards.
+     *
+     * @param shards The order manager of each shard
+     * @param shardLoggers The action logger of each shard, in the same order
+     * @param shardKey Derives the shard key from an order, or null to shard by order ID.
+     *                 Routing by a shard key follows removals through lifecycle listeners, so
+     *                 every shard must then be an {@link OrderManagerImpl}.
+     */
+    public ShardedOrderManager(List<OrderManager> shards, List<ActionLogger> shardLoggers, Function<Order, String> shardKey) {
+        if (shards.isEmpty() || shards.size() != shardLoggers.size()) {
+            throw new IllegalArgumentException("Each of the " + shards.size() + " shards needs exactly one action logger");
+        }
+        this.shards = List.copyOf(shards);
+        this.shardLoggers = List.copyOf(shardLoggers);
+        this.shardKey = shardKey;
+        this.retiredRoutes = shardKey == null ? null : new BoundedCache<>(RETIRED_ROUTES_PER_SHARD * shards.size());
+
+        if (shardKey != null) {
+            for (int i = 0; i < this.shards.size(); i++) {
+                if (!(this.shards.get(i) instanceof OrderManagerImpl shard)) {
+                    throw new IllegalArgumentException("Routing by shard key requires OrderManagerImpl shards");
+                }
+                shard.addLifecycleListener(new RouteRetirer(i));
+            }
+        }
+    }
+
+    /**
+     * Creates a new order manager with the given number of shards, sharding orders by ID.
+     *
+     * @param shardCount The number of shards
+     * @param kitchenFactory Creates the kitchen of each shard
+     * @param discardStrategyFactory Creates the discard strategy of each shard
+     * @param lockingMode The locking scheme used within each shard
+     * @return The sharded order manager
+     */
+    public static ShardedOrderManager create(
+            int shardCount,
+            Supplier<Kitchen> kitchenFactory,
+            Supplier<DiscardStrategy> discardStrategyFactory,
+            LockingMode lockingMode) {
+        return create(shardCount, kitchenFactory, discardStrategyFactory, lockingMode, null);
+    }
+
+    /**
+     * Creates a new order manager with the given number of shards, sharding orders by a shard key.
+     *
+     * @param shardCount The number of shards
+     * @param kitchenFactory Creates the kitchen of each shard
+     * @param discardStrategyFactory Creates the discard strategy of each shard
+     * @param lockingMode The locking scheme used within each shard
+     * @param shardKey Derives the shard key from an order, or null to shard by order ID
+     * @return The sharded order manager
+     */
+    public static ShardedOrderManager create(
+            int shardCount,
+            Supplier<Kitchen> kitchenFactory,
+            Supplier<DiscardStrategy> discardStrategyFactory,
+            LockingMode lockingMode,
+            Function<Order, String> shardKey) {
+        return create(shardCount, kitchenFactory, discardStrategyFactory, lockingMode, shardKey, Clock.system(), true);
+    }
+
+    /**
+     * Creates a new order manager with the given number of shards, sharding orders by a shard key.
+     *
+     * @param shardCount The number of shards
+     * @param kitchenFactory Creates the kitchen of each shard
+     * @param discardStrategyFactory Creates the discard strategy of each shard
+     * @param lockingMode The locking scheme used within each shard
+     * @param shardKey Derives the shard key from an order, or null to shard by order ID
+     * @param clock The clock every shard's freshness tracker and action logger read
+     * @param echoActions Whether shard action loggers print every action as it is logged
+     * @return The sharded order manager
+     */
+    public static ShardedOrderManager create(
+            int shardCount,
+            Supplier<Kitchen> kitchenFactory,
+            Supplier<DiscardStrategy> discardStrategyFactory,
+            LockingMode lockingMode,
+            Function<Order, String> shardKey,
+            Clock clock,
+            boolean echoActions) {
+        List<OrderManager> shards = new ArrayList<>(shardCount);
+        List<ActionLogger> shardLoggers = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            ActionLogger shardLogger = new ActionLoggerImpl(clock, echoActions);
+            shards.add(new OrderManagerImpl(
+                    kitchenFactory.get(),
+                    shardLogger,
+                    new FreshnessTrackerImpl(clock),
+                    discardStrategyFactory.get(),
+                    lockingMode));
+            shardLoggers.add(shardLogger);
+        }
+        return new ShardedOrderManager(shards, shardLoggers, shardKey);
+    }
+
+    /**
+     * Gets an action logger presenting the logs of every shard as one timestamp-ordered log.
+     * Actions logged through it are recorded by the shard owning the order.
+     *
+     * @return The merged action logger
+     */
+    public ActionLogger getActionLogger() {
+        return actionLogger;
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public Action placeOrder(Order order) {
+        return shards.get(shardOf(order)).placeOrder(order);
+    }
+
+    /**
+     * Splits the batch by shard and places each part with one call to its shard.
+     * Orders on different shards are independent, so the outcome matches placing them in list order.
+     */
+    @Override
+    public List<Action> placeOrders(List<Order> orders) {
+        List<List<Order>> shardOrders = new ArrayList<>(shards.size());
+        List<List<Integer>> shardPositions = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            shardOrders.add(new ArrayList<>());
+            shardPositions.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < orders.size(); i++) {
+            int shard = shardOf(orders.get(i));
+            shardOrders.get(shard).add(orders.get(i));
+            shardPositions.get(shard).add(i);
+        }
+
+        Action[] actions = new Action[orders.size()];
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (shardOrders.get(shard).isEmpty()) {
+                continue;
+            }
+            List<Action> shardActions = shards.get(shard).placeOrders(shardOrders.get(shard));
+            List<Integer> positions = shardPositions.get(shard);
+            for (int i = 0; i < positions.size(); i++) {
+                actions[positions.get(i)] = shardActions.get(i);
+            }
+        }
+
+        return List.of(actions);
+    }
+
+    @Override
+    public boolean moveOrder(String orderId, String sourceUnitType, String targetUnitType) {
+        return shardFor(orderId).moveOrder(orderId, sourceUnitType, targetUnitType);
+    }
+
+    @Override
+    public boolean tryMoveOrder(String orderId, String sourceUnitType, String targetUnitType) {
+        return shardFor(orderId).tryMoveOrder(orderId, sourceUnitType, targetUnitType);
+    }
+
+    @Override
+    public Optional<Order> pickupOrder(String orderId) {
+        return shardFor(orderId).pickupOrder(orderId);
+    }
+
+    @Override
+    public List<Action> pickupOrders(Collection<String> orderIds) {
+        List<List<String>> shardOrderIds = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            shardOrderIds.add(new ArrayList<>());
+        }
+        for (String orderId : orderIds) {
+            shardOrderIds.get(shardIndexFor(orderId)).add(orderId);
+        }
+
+        Map<String, Action> pickups = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            if (!shardOrderIds.get(shard).isEmpty()) {
+                for (Action action : shards.get(shard).pickupOrders(shardOrderIds.get(shard))) {
+                    pickups.put(action.getId(), action);
+                }
+            }
+        }
+
+        // Restore the caller's order. Removing each pickup keeps repeated IDs from reporting it twice
+        List<Action> actions = new ArrayList<>(pickups.size());
+        for (String orderId : orderIds) {
+            Action action = pickups.remove(orderId);
+            if (action != null) {
+                actions.add(action);
+            }
+        }
+        return actions;
+    }
+
+    @Override
+    public boolean discardOrder(String orderId) {
+        return shardFor(orderId).discardOrder(orderId);
+    }
+
+    @Override
+    public List<Action> getAllActions() {
+        return actionLogger.getAllActions();
+    }
+
+    @Override
+    public boolean orderExists(String orderId) {
+        return shardFor(orderId).orderExists(orderId);
+    }
+
+    @Override
+    public Optional<String> getOrderLocation(String orderId) {
+        return shardFor(orderId).getOrderLocation(orderId);
+    }
+
+    @Override
+    public Optional<RemovalReason> getRemovalReason(String orderId) {
+        return shardFor(orderId).getRemovalReason(orderId);
+    }
+
+    /**
+     * Chooses the shard for a new order, remembering it when a custom shard key is used.
+     */
+    private int shardOf(Order order) {
+        if (shardKey == null) {
+            return shardIndex(order.getId());
+        }
+
+        int shard = shardIndex(shardKey.apply(order));
+        orderShards.put(order.getId(), shard);
+        return shard;
+    }
+
+    private OrderManager shardFor(String orderId) {
+        return shards.get(shardIndexFor(orderId));
+    }
+
+    /**
+     * Finds the shard of a current or recently removed order. Orders placed elsewhere, or
+     * removed too long ago, fall back to their ID hash.
+     */
+    private int shardIndexFor(String orderId) {
+        if (shardKey == null) {
+            return shardIndex(orderId);
+        }
+
+        Integer shard = orderShards.get(orderId);
+        if (shard != null) {
+            return shard;
+        }
+        Integer retiredShard = retiredRoutes.get(orderId);
+        return retiredShard != null ? retiredShard : shardIndex(orderId);
+    }
+
+    /**
+     * Gets the number of orders currently routed by their shard key.
+     */
+    int getRoutedOrderCount() {
+        return orderShards.size();
+    }
+
+    private int shardIndex(String key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.size());
+    }
+
+    /**
+     * Moves the route of an order that left a shard, for any reason, from the live routes
+     * to the retired ones. The retired route is recorded first, so the order stays routable.
+     */
+    private class RouteRetirer implements OrderLifecycleListener {
+        private final int shard;
+
+        RouteRetirer(int shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public void onRemoved(Order order, StorageUnit unit, RemovalReason reason) {
+            retiredRoutes.put(order.getId(), shard);
+            orderShards.remove(order.getId(), shard);
+        }
+    }
+
+    /**
+     * Read-through view over the shard loggers.
+     */
+    private class MergedActionLogger implements ActionLogger {
+        private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+                .withZone(ZoneId.systemDefault());
+
+        @Override
+        public Action logAction(String orderId, ActionType actionType) {
+            return shardLoggers.get(shardIndexFor(orderId)).logAction(orderId, actionType);
+        }
+
+        @Override
+        public Action logAction(Instant timestamp, String orderId, ActionType actionType) {
+            return shardLoggers.get(shardIndexFor(orderId)).logAction(timestamp, orderId, actionType);
+        }
+
+        // Last merged log and the number of actions it was merged from; guarded by this instance
+        private List<Action> merged = List.of();
+        private int mergedCount;
+
+        /**
+         * Merges the shard logs by timestamp. Each shard log is already almost sorted,
+         * so the stable sort runs in close to linear time. Shard logs only grow, so the
+         * merged log is reused until the action count changes.
+         */
+        @Override
+        public synchronized List<Action> getAllActions() {
+            // Counted before copying, so actions logged during the merge make the next call merge again
+            int count = getActionCount();
+            if (count == mergedCount) {
+                return merged;
+            }
+
+            List<Action> actions = new ArrayList<>(count);
+            for (ActionLogger shardLogger : shardLoggers) {
+                actions.addAll(shardLogger.getAllActions());
+            }
+            actions.sort(Comparator.comparingLong(Action::getTimestamp));
+            merged = List.copyOf(actions);
+            mergedCount = count;
+            return merged;
+        }
+
+        @Override
+        public int getActionCount() {
+            int count = 0;
+            for (ActionLogger shardLogger : shardLoggers) {
+                count += shardLogger.getActionCount();
+            }
+            return count;
+        }
+
+        @Override
+        public List<Action> getActionsForOrder(String orderId) {
+            return shardLoggers.get(shardIndexFor(orderId)).getActionsForOrder(orderId);
+        }
+
+        @Override
+        public void printActionLog() {
+            LOGGER.info("\n===== ACTION LOG =====");
+
+            for (Action action : getAllActions()) {
+                Instant timestamp = Instant.ofEpochMilli(action.getTimestamp() / 1000);
+                LOGGER.info("[{}] Order {}: {}",
+                        formatter.format(timestamp),
+                        action.getId(),
+                        action.getActionType());
+            }
+
+            LOGGER.info("=====================");
+        }
+    }
+}
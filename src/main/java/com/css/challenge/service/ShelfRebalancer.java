@@ -0,0 +1,136 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.domain.StorageType;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.storage.StorageUnit;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves shelf orders back to their ideal storage as soon as a heater or cooler slot frees up.
+ * When an order leaves a heater or cooler, the rebalancer promotes the shelf order of that
+ * temperature with the least remaining freshness. Promotions run on the rebalancer's own
+ * thread through the order manager, so they are logged as moves and never delay the
+ * operation that freed the slot. They also never wait for the locks of the placement path:
+ * a promotion whose locks are busy backs off and retries a few times, then gives up, leaving
+ * the next placement onto a full shelf to move orders as before.
+ */
+public class ShelfRebalancer implements OrderLifecycleListener, AutoCloseable {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MICROS = 500;
+
+    private final OrderManager orderManager;
+    private final Kitchen kitchen;
+    private final FreshnessTracker freshnessTracker;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new shelf rebalancer. Register it as a lifecycle listener of the order manager
+     * applying changes to the kitchen.
+     *
+     * @param orderManager The order manager performing the moves
+     * @param kitchen The kitchen whose shelves are rebalanced
+     * @param freshnessTracker The tracker for order freshness
+     */
+    public ShelfRebalancer(OrderManager orderManager, Kitchen kitchen, FreshnessTracker freshnessTracker) {
+        this.orderManager = orderManager;
+        this.kitchen = kitchen;
+        this.freshnessTracker = freshnessTracker;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shelf-rebalancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void onRemoved(Order order, StorageUnit unit, RemovalReason reason) {
+        if (unit == null || unit.getType() == StorageType.SHELF) {
+            return;
+        }
+
+        Temperature temperature = unit.getTemperature();
+        try {
+            executor.execute(() -> promoteWithRetries(temperature));
+        } catch (RejectedExecutionException e) {
+            // Closed; the next placement onto a full shelf still moves orders as before
+        }
+    }
+
+    /**
+     * Promotes an order, backing off on the rebalancer's own thread while the move loses out
+     * to busy locks. The operation that freed the slot usually still holds them at first.
+     *
+     * @param temperature The temperature whose ideal storage freed up
+     */
+    private void promoteWithRetries(Temperature temperature) {
+        for (int attempt = 1; promote(temperature) == Promotion.BUSY && attempt < MAX_ATTEMPTS; attempt++) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(RETRY_DELAY_MICROS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves the shelf order of the given temperature with the least remaining freshness
+     * to its ideal storage, if that storage has room.
+     *
+     * @param temperature The temperature whose ideal storage freed up
+     * @return The outcome of the promotion
+     */
+    Promotion promote(Temperature temperature) {
+        StorageType idealType = switch (temperature) {
+            case HOT -> StorageType.HEATER;
+            case COLD -> StorageType.COOLER;
+            default -> null;
+        };
+        if (idealType == null || !kitchen.getStorageUnit(idealType).hasCapacity()) {
+            return Promotion.NOT_NEEDED;
+        }
+
+        // Shelves are the only storage at room temperature, so the tracker's heap holds exactly their orders
+        Temperature shelfTemperature = kitchen.getShelf().getTemperature();
+        Optional<Order> atRiskOrder = freshnessTracker.peekLeastFresh(shelfTemperature, temperature);
+
+        if (atRiskOrder.isEmpty()) {
+            return Promotion.NOT_NEEDED;
+        }
+
+        // A failed move is treated as busy; the next attempt rechecks whether one is still needed
+        boolean moved = orderManager.tryMoveOrder(atRiskOrder.get().getId(), StorageType.SHELF.name(), idealType.name());
+        return moved ? Promotion.MOVED : Promotion.BUSY;
+    }
+
+    /**
+     * Outcome of a single promotion attempt.
+     */
+    enum Promotion {
+        MOVED,
+        NOT_NEEDED,
+        BUSY
+    }
+
+    /**
+     * Stops accepting promotions and waits briefly for pending ones to finish.
+     * If interrupted while waiting, the interrupt status is restored.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
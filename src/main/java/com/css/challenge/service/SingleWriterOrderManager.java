@@ -0,0 +1,272 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.DiscardStrategy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Order manager that funnels every mutating command through a bounded queue to a single
+ * owner thread. The owner applies commands one at a time to an order manager running in
+ * confined mode, so no storage locks are taken. With storage units in the confined slot
+ * layout, the owner also skips the units' own slot monitors and counter CAS. Callers get a
+ * future for each command, and the blocking OrderManager methods wait for that future.
+ * Reads go straight to the kitchen's location index, which stays a concurrent map so it is
+ * safe to read from any thread; it and the tombstone cache are the only synchronization left
+ * on the owner thread besides the command queue.
+ */
+public class SingleWriterOrderManager implements OrderManager, AsyncOrderManager, AutoCloseable {
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final OrderManagerImpl delegate;
+    private final BlockingQueue<Command<?>> commands;
+    private final Command<Void> shutdown = new Command<>(() -> null);
+    private final Thread owner;
+
+    private volatile boolean closed = false;
+    private volatile boolean terminated = false;
+
+    /**
+     * Creates a new single-writer order manager and starts its owner thread.
+     *
+     * @param kitchen The kitchen holding the storage units
+     * @param actionLogger The logger recording every action
+     * @param freshnessTracker The tracker for order freshness
+     * @param discardStrategy The strategy selecting orders to discard
+     * @param queueCapacity The number of pending commands before submitters block
+     */
+    public SingleWriterOrderManager(
+            Kitchen kitchen,
+            ActionLogger actionLogger,
+            FreshnessTracker freshnessTracker,
+            DiscardStrategy discardStrategy,
+            int queueCapacity) {
+        this.delegate = new OrderManagerImpl(
+                kitchen, actionLogger, freshnessTracker, discardStrategy, LockingMode.CONFINED);
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+        this.owner = new Thread(this::runCommands, "order-writer");
+        this.owner.setDaemon(true);
+        this.owner.start();
+    }
+
+    /**
+     * Creates a new single-writer order manager with the default queue capacity.
+     */
+    public SingleWriterOrderManager(
+            Kitchen kitchen,
+            ActionLogger actionLogger,
+            FreshnessTracker freshnessTracker,
+            DiscardStrategy discardStrategy) {
+        this(kitchen, actionLogger, freshnessTracker, discardStrategy, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Registers a listener notified of every placement, move and removal.
+     * Notifications are delivered on the owner thread.
+     *
+     * @param listener The listener to register
+     */
+    public void addLifecycleListener(OrderLifecycleListener listener) {
+        delegate.addLifecycleListener(listener);
+    }
+
+    @Override
+    public CompletableFuture<Action> placeOrderAsync(Order order) {
+        return submit(() -> delegate.placeOrder(order));
+    }
+
+    /**
+     * Queues the placement of a batch of orders as a single command.
+     *
+     * @param orders The orders to place
+     * @return A future completed with the place action of each order, in list order
+     */
+    public CompletableFuture<List<Action>> placeOrdersAsync(List<Order> orders) {
+        return submit(() -> delegate.placeOrders(orders));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> moveOrderAsync(String orderId, String sourceUnitType, String targetUnitType) {
+        return submit(() -> delegate.moveOrder(orderId, sourceUnitType, targetUnitType));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Order>> pickupOrderAsync(String orderId) {
+        return submit(() -> delegate.pickupOrder(orderId));
+    }
+
+    /**
+     * Queues the pickup of a batch of orders as a single command.
+     *
+     * @param orderIds The IDs of the orders to pick up
+     * @return A future completed with the pickup action of each order that was found
+     */
+    public CompletableFuture<List<Action>> pickupOrdersAsync(Collection<String> orderIds) {
+        return submit(() -> delegate.pickupOrders(orderIds));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> discardOrderAsync(String orderId) {
+        return submit(() -> delegate.discardOrder(orderId));
+    }
+
+    @Override
+    public Action placeOrder(Order order) {
+        return await(placeOrderAsync(order));
+    }
+
+    @Override
+    public List<Action> placeOrders(List<Order> orders) {
+        return await(placeOrdersAsync(orders));
+    }
+
+    @Override
+    public boolean moveOrder(String orderId, String sourceUnitType, String targetUnitType) {
+        return await(moveOrderAsync(orderId, sourceUnitType, targetUnitType));
+    }
+
+    @Override
+    public Optional<Order> pickupOrder(String orderId) {
+        return await(pickupOrderAsync(orderId));
+    }
+
+    @Override
+    public List<Action> pickupOrders(Collection<String> orderIds) {
+        return await(pickupOrdersAsync(orderIds));
+    }
+
+    @Override
+    public boolean discardOrder(String orderId) {
+        return await(discardOrderAsync(orderId));
+    }
+
+    @Override
+    public List<Action> getAllActions() {
+        return delegate.getAllActions();
+    }
+
+    @Override
+    public boolean orderExists(String orderId) {
+        return delegate.orderExists(orderId);
+    }
+
+    @Override
+    public Optional<String> getOrderLocation(String orderId) {
+        return delegate.getOrderLocation(orderId);
+    }
+
+    @Override
+    public Optional<RemovalReason> getRemovalReason(String orderId) {
+        return delegate.getRemovalReason(orderId);
+    }
+
+    /**
+     * Stops accepting commands and waits for the owner thread to finish the ones already queued.
+     * Commands submitted concurrently with closing fail with an IllegalStateException.
+     * If the caller is interrupted, the owner thread is interrupted instead, rejecting the
+     * commands still queued, and the caller's interrupt status is restored.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            commands.put(shutdown);
+            owner.join();
+        } catch (InterruptedException e) {
+            owner.interrupt();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Order manager is closed"));
+        }
+
+        Command<T> command = new Command<>(operation);
+        try {
+            commands.put(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // The owner drains the queue after terminating, so only a command queued after that drain
+        // can be left behind, and it is rejected here
+        if (terminated) {
+            command.reject();
+        }
+        return command.result;
+    }
+
+    private void runCommands() {
+        try {
+            while (true) {
+                Command<?> command = commands.take();
+                if (command == shutdown) {
+                    break;
+                }
+                command.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            terminated = true;
+            Command<?> command;
+            while ((command = commands.poll()) != null) {
+                command.reject();
+            }
+        }
+    }
+
+    /**
+     * Waits for a command result, rethrowing the command's own exception.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A queued operation and the future receiving its result.
+     */
+    private static final class Command<T> {
+        private final Supplier<T> operation;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Command(Supplier<T> operation) {
+            this.operation = operation;
+        }
+
+        void run() {
+            try {
+                result.complete(operation.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+
+        void reject() {
+            result.completeExceptionally(new IllegalStateException("Order manager is closed"));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+
+/**
+ * A tracked order with the temperature it is stored at and the absolute deadline at which it
+ * expires there. Freshness is consumed twice as fast away from the ideal temperature, so the
+ * deadline only changes when the order is placed or moved.
+ */
+final class TrackedOrder {
+    final Order order;
+    final Temperature storageTemperature;
+    // Clock reading at which the order expires at its storage temperature
+    final long deadlineNanos;
+
+    // Position in the expiry heap holding this order, or -1 when not in a heap
+    int heapIndex = -1;
+
+    TrackedOrder(Order order, Temperature storageTemperature, long deadlineNanos) {
+        this.order = order;
+        this.storageTemperature = storageTemperature;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Gets how many nanoseconds of freshness the order consumes per nanosecond at a temperature.
+     */
+    static int decayRate(Order order, Temperature temperature) {
+        return temperature == order.getTemp() ? 1 : 2;
+    }
+
+    /**
+     * Gets the freshness left, in nanoseconds at the order's ideal temperature.
+     */
+    long remainingFreshnessNanos(long nowNanos) {
+        return Math.max(0, deadlineNanos - nowNanos) * decayRate(order, storageTemperature);
+    }
+}
@@ -0,0 +1,201 @@
+package com.css.challenge.storage;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Order slots backed by a fixed array sized to the unit's capacity.
+ * Free slots are tracked in a bitmap and order IDs are mapped to slots through an
+ * open-addressing index, so storing and removing orders allocates nothing.
+ * Occupied slots are also threaded onto one intrusive list per temperature, so that any
+ * order of a given temperature can be found in constant time.
+ * Not thread-safe; shared units wrap it in {@link SynchronizedOrderSlots}, while units
+ * confined to one thread use it directly.
+ */
+class ArrayOrderSlots implements OrderSlots {
+    private static final int NO_SLOT = -1;
+
+    private final Order[] slots;
+
+    // Bit i of word (i / 64) is set when slot i is free
+    private final long[] freeSlots;
+
+    // Per-temperature doubly linked lists of occupied slots, with heads indexed by temperature ordinal
+    private final int[] nextInTemperature;
+    private final int[] prevInTemperature;
+    private final int[] temperatureHeads;
+
+    // Linear-probing index from order ID to slot, sized to at least twice the capacity
+    private final String[] indexKeys;
+    private final int[] indexSlots;
+    private final int indexMask;
+
+    ArrayOrderSlots(int capacity) {
+        this.slots = new Order[capacity];
+        this.freeSlots = new long[(capacity + 63) >>> 6];
+        for (int slot = 0; slot < capacity; slot++) {
+            freeSlots[slot >>> 6] |= 1L << slot;
+        }
+
+        this.nextInTemperature = new int[capacity];
+        this.prevInTemperature = new int[capacity];
+        this.temperatureHeads = new int[Temperature.values().length];
+        Arrays.fill(temperatureHeads, NO_SLOT);
+
+        int indexSize = Integer.highestOneBit(Math.max(1, capacity * 2 - 1)) << 1;
+        this.indexKeys = new String[indexSize];
+        this.indexSlots = new int[indexSize];
+        this.indexMask = indexSize - 1;
+    }
+
+    @Override
+    public boolean add(Order order) {
+        String orderId = order.getId();
+        int position = probe(orderId);
+        if (indexKeys[position] != null) {
+            return false;
+        }
+
+        int slot = claimFreeSlot();
+        if (slot == NO_SLOT) {
+            return false;
+        }
+
+        slots[slot] = order;
+        indexKeys[position] = orderId;
+        indexSlots[position] = slot;
+        link(slot, order.getTemp());
+        return true;
+    }
+
+    @Override
+    public Order remove(String orderId) {
+        int position = probe(orderId);
+        if (indexKeys[position] == null) {
+            return null;
+        }
+
+        int slot = indexSlots[position];
+        Order order = slots[slot];
+        unlink(slot, order.getTemp());
+        slots[slot] = null;
+        freeSlots[slot >>> 6] |= 1L << slot;
+        deleteIndexEntry(position);
+        return order;
+    }
+
+    @Override
+    public Order get(String orderId) {
+        int position = probe(orderId);
+        return indexKeys[position] == null ? null : slots[indexSlots[position]];
+    }
+
+    @Override
+    public boolean contains(String orderId) {
+        return indexKeys[probe(orderId)] != null;
+    }
+
+    @Override
+    public Order findAny(Temperature temperature) {
+        int slot = temperatureHeads[temperature.ordinal()];
+        return slot == NO_SLOT ? null : slots[slot];
+    }
+
+    @Override
+    public void forEach(Consumer<? super Order> action) {
+        for (Order order : slots) {
+            if (order != null) {
+                action.accept(order);
+            }
+        }
+    }
+
+    @Override
+    public void copyInto(Map<String, Order> target) {
+        for (Order order : slots) {
+            if (order != null) {
+                target.put(order.getId(), order);
+            }
+        }
+    }
+
+    /**
+     * Finds the index position holding the given ID, or the empty position where it would be inserted.
+     */
+    private int probe(String orderId) {
+        int position = home(orderId);
+        while (indexKeys[position] != null && !indexKeys[position].equals(orderId)) {
+            position = (position + 1) & indexMask;
+        }
+        return position;
+    }
+
+    private int home(String orderId) {
+        int hash = orderId.hashCode();
+        return (hash ^ (hash >>> 16)) & indexMask;
+    }
+
+    /**
+     * Claims the lowest free slot.
+     *
+     * @return The claimed slot, or NO_SLOT if every slot is occupied
+     */
+    private int claimFreeSlot() {
+        for (int word = 0; word < freeSlots.length; word++) {
+            long bits = freeSlots[word];
+            if (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                freeSlots[word] = bits & ~(1L << bit);
+                return (word << 6) + bit;
+            }
+        }
+        return NO_SLOT;
+    }
+
+    private void link(int slot, Temperature temperature) {
+        int head = temperatureHeads[temperature.ordinal()];
+        nextInTemperature[slot] = head;
+        prevInTemperature[slot] = NO_SLOT;
+        if (head != NO_SLOT) {
+            prevInTemperature[head] = slot;
+        }
+        temperatureHeads[temperature.ordinal()] = slot;
+    }
+
+    private void unlink(int slot, Temperature temperature) {
+        int prev = prevInTemperature[slot];
+        int next = nextInTemperature[slot];
+        if (prev != NO_SLOT) {
+            nextInTemperature[prev] = next;
+        } else {
+            temperatureHeads[temperature.ordinal()] = next;
+        }
+        if (next != NO_SLOT) {
+            prevInTemperature[next] = prev;
+        }
+    }
+
+    /**
+     * Deletes an index entry by shifting later entries of the same probe run back into the hole,
+     * which keeps every remaining key reachable without tombstones.
+     */
+    private void deleteIndexEntry(int position) {
+        int hole = position;
+        int next = (hole + 1) & indexMask;
+        while (indexKeys[next] != null) {
+            int home = home(indexKeys[next]);
+            // The entry at next may fill the hole only if the hole lies on its probe path
+            if (((next - home) & indexMask) >= ((next - hole) & indexMask)) {
+                indexKeys[hole] = indexKeys[next];
+                indexSlots[hole] = indexSlots[next];
+                hole = next;
+            }
+            next = (next + 1) & indexMask;
+        }
+        indexKeys[hole] = null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.css.challenge.storage;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache remembering recent entries, such as why or where orders were removed.
+ * Lookups are a single lock-free hash probe; once full, the oldest entry is evicted.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class BoundedCache<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    // Ring of keys in insertion order, used to evict the oldest entry; guarded by this instance
+    private final Object[] ring;
+    private int next;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity The number of entries kept before the oldest is evicted
+     */
+    public BoundedCache(int capacity) {
+        this.ring = new Object[capacity];
+    }
+
+    /**
+     * Records the value of a key, replacing any value it had.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void put(K key, V value) {
+        K evicted = (K) ring[next];
+        if (evicted != null) {
+            // The key may have been removed or put again since, in which case its current
+            // entry belongs to another slot and stays
+            Entry<V> entry = entries.get(evicted);
+            if (entry != null && entry.slot == next) {
+                entries.remove(evicted, entry);
+            }
+        }
+        ring[next] = key;
+        entries.put(key, new Entry<>(value, next));
+        next = (next + 1) % ring.length;
+    }
+
+    /**
+     * Drops the entry of a key. Its ring slot is left to be reused in turn.
+     */
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @return The value, or null if the key has no entry
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * A value together with the ring slot that will evict it.
+     */
+    private static final class Entry<V> {
+        final V value;
+        final int slot;
+
+        Entry(V value, int slot) {
+            this.value = value;
+            this.slot = slot;
+        }
+    }
+}
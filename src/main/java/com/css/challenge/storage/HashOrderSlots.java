@@ -0,0 +1,104 @@
+package com.css.challenge.storage;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Order slots backed by a concurrent hash map keyed by order ID.
+ * Orders are also threaded onto one intrusive list per temperature, so that any order
+ * of a given temperature can be found in constant time.
+ */
+class HashOrderSlots implements OrderSlots {
+    private final ConcurrentHashMap<String, Node> orders = new ConcurrentHashMap<>();
+
+    // Head of the list of orders for each temperature, indexed by ordinal; guarded by this instance
+    private final Node[] temperatureHeads = new Node[Temperature.values().length];
+
+    // Writers update the map and the list under this instance, so an add and a remove of the
+    // same ID cannot interleave between the map entry and the list links; reads stay lock-free
+    @Override
+    public synchronized boolean add(Order order) {
+        Node node = new Node(order);
+        if (orders.putIfAbsent(order.getId(), node) != null) {
+            return false;
+        }
+        link(node);
+        return true;
+    }
+
+    @Override
+    public synchronized Order remove(String orderId) {
+        Node node = orders.remove(orderId);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.order;
+    }
+
+    @Override
+    public Order get(String orderId) {
+        Node node = orders.get(orderId);
+        return node == null ? null : node.order;
+    }
+
+    @Override
+    public boolean contains(String orderId) {
+        return orders.containsKey(orderId);
+    }
+
+    @Override
+    public synchronized Order findAny(Temperature temperature) {
+        Node head = temperatureHeads[temperature.ordinal()];
+        return head == null ? null : head.order;
+    }
+
+    @Override
+    public void forEach(Consumer<? super Order> action) {
+        orders.values().forEach(node -> action.accept(node.order));
+    }
+
+    @Override
+    public void copyInto(Map<String, Order> target) {
+        orders.forEach((orderId, node) -> target.put(orderId, node.order));
+    }
+
+    private void link(Node node) {
+        int temperature = node.order.getTemp().ordinal();
+        node.next = temperatureHeads[temperature];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        temperatureHeads[temperature] = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            temperatureHeads[node.order.getTemp().ordinal()] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * An order together with its links in the per-temperature list.
+     */
+    private static final class Node {
+        final Order order;
+        Node prev;
+        Node next;
+
+        Node(Order order) {
+            this.order = order;
+        }
+    }
+}
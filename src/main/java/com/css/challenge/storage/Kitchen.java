@@ -1,39 +1,93 @@
 package com.css.challenge.storage;
 
 import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
 import com.css.challenge.domain.StorageType;
 import com.css.challenge.domain.Temperature;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents the kitchen with its storage units.
+ * A kitchen may have any number of heaters, coolers and shelves.
  * Thread-safe implementation to handle concurrent order operations.
+ * The location index is the single source of truth for where an order is: an entry is only
+ * present while the unit it points at holds the order, so lookups never need to scan units.
  */
 public class Kitchen {
-    // Storage unit for hot orders
-    private final StorageUnit heater;
+    // Number of recently removed orders remembered with their removal reason
+    private static final int TOMBSTONE_CAPACITY = 4096;
 
-    // Storage unit for cold orders
-    private final StorageUnit cooler;
+    // All storage units, sorted by their lock order
+    private final StorageUnit[] units;
 
-    // Storage unit for any orders at room temperature
-    private final StorageUnit shelf;
+    // Storage units of each type, e.g. every heater
+    private final Map<StorageType, UnitGroup> unitsByType = new EnumMap<>(StorageType.class);
 
-    // Lock for complex operations involving multiple storage units
-    private final ReadWriteLock kitchenLock = new ReentrantReadWriteLock();
+    // Storage units ideal for orders of each temperature
+    private final Map<Temperature, UnitGroup> idealUnitsByTemperature = new EnumMap<>(Temperature.class);
 
-    // Map to quickly locate orders
+    private final PlacementPolicy placementPolicy;
+
+    // Authoritative index of the unit holding each order
     private final Map<String, StorageUnit> orderLocations = new ConcurrentHashMap<>();
 
+    // Why recently removed orders left the kitchen
+    private final BoundedCache<String, RemovalReason> tombstones = new BoundedCache<>(TOMBSTONE_CAPACITY);
+
+    /**
+     * Creates a new kitchen with any number of storage units of each type.
+     * Orders are spread across units of the same type according to the placement policy.
+     *
+     * @param units The storage units; at least one heater, cooler and shelf is required
+     * @param placementPolicy How to choose between units of the same type
+     */
+    public Kitchen(List<StorageUnit> units, PlacementPolicy placementPolicy) {
+        this.units = units.toArray(new StorageUnit[0]);
+        Arrays.sort(this.units, Comparator.comparingInt(StorageUnit::getLockOrder));
+        this.placementPolicy = placementPolicy;
+
+        for (StorageType type : StorageType.values()) {
+            StorageUnit[] group = units.stream()
+                    .filter(unit -> unit.getType() == type)
+                    .toArray(StorageUnit[]::new);
+            if (group.length == 0) {
+                throw new IllegalArgumentException("Kitchen requires at least one storage unit of type " + type);
+            }
+            unitsByType.put(type, new UnitGroup(group));
+        }
+
+        // Orders with no unit of their temperature are ideally kept on a shelf
+        for (Temperature temperature : Temperature.values()) {
+            StorageUnit[] group = units.stream()
+                    .filter(unit -> unit.getTemperature() == temperature)
+                    .toArray(StorageUnit[]::new);
+            idealUnitsByTemperature.put(temperature,
+                    group.length > 0 ? new UnitGroup(group) : unitsByType.get(StorageType.SHELF));
+        }
+    }
+
+    /**
+     * Creates a new kitchen with one heater, cooler and shelf whose storage units use the given slot layout.
+     */
+    public Kitchen(int heaterCapacity, int coolerCapacity, int shelfCapacity, SlotLayout layout) {
+        this(List.of(
+                new StorageUnit(StorageType.HEATER, Temperature.HOT, heaterCapacity, layout),
+                new StorageUnit(StorageType.COOLER, Temperature.COLD, coolerCapacity, layout),
+                new StorageUnit(StorageType.SHELF, Temperature.ROOM, shelfCapacity, layout)),
+                PlacementPolicy.LEAST_OCCUPIED);
+    }
+
     public Kitchen(int heaterCapacity, int coolerCapacity, int shelfCapacity) {
-        this.heater = new StorageUnit(StorageType.HEATER, Temperature.HOT, heaterCapacity);
-        this.cooler = new StorageUnit(StorageType.COOLER, Temperature.COLD, coolerCapacity);
-        this.shelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, shelfCapacity);
+        this(heaterCapacity, coolerCapacity, shelfCapacity, SlotLayout.HASH);
     }
 
     /**
@@ -45,52 +99,59 @@ public class Kitchen {
 
     /**
      * Gets the storage unit that is ideal for an order based on its temperature requirements.
+     * When several units are ideal, one is chosen by the placement policy.
      */
     public StorageUnit getIdealStorageUnit(Order order) {
-        return switch (order.getTemp()) {
-            case HOT -> heater;
-            case COLD -> cooler;
-            default -> shelf;
-        };
+        return idealUnitsByTemperature.get(order.getTemp()).select(placementPolicy);
     }
 
     /**
      * Gets a storage unit by its type.
+     * When there are several units of the type, one is chosen by the placement policy.
      */
     public StorageUnit getStorageUnit(StorageType type) {
-        return switch (type) {
-            case HEATER -> heater;
-            case COOLER -> cooler;
-            default -> shelf;
-        };
+        return unitsByType.get(type).select(placementPolicy);
+    }
+
+    /**
+     * Gets every storage unit of a type.
+     */
+    public List<StorageUnit> getStorageUnits(StorageType type) {
+        return List.of(unitsByType.get(type).units);
+    }
+
+    /**
+     * Gets every storage unit in the kitchen, in lock order.
+     */
+    public List<StorageUnit> getStorageUnits() {
+        return List.of(units);
     }
 
     /**
      * Finds the storage unit containing an order.
+     * This is a single lock-free lookup in the location index.
      */
     public Optional<StorageUnit> findStorageUnitForOrder(String orderId) {
-        // Quick lookup first
-        StorageUnit unit = orderLocations.get(orderId);
-        if (unit != null && unit.containsOrder(orderId)) {
-            return Optional.of(unit);
-        }
+        return Optional.ofNullable(locateOrder(orderId));
+    }
 
-        // Fall back to full search if quick lookup fails
-        kitchenLock.readLock().lock();
-        try {
-            if (heater.containsOrder(orderId)) {
-                return Optional.of(heater);
-            }
-            if (cooler.containsOrder(orderId)) {
-                return Optional.of(cooler);
-            }
-            if (shelf.containsOrder(orderId)) {
-                return Optional.of(shelf);
-            }
-            return Optional.empty();
-        } finally {
-            kitchenLock.readLock().unlock();
-        }
+    /**
+     * Gets the storage unit containing an order, or null if the kitchen does not hold it.
+     * Status reads use this to skip the Optional. Like every index read it takes no lock,
+     * so it never waits for or blocks a writer.
+     */
+    public StorageUnit locateOrder(String orderId) {
+        return orderLocations.get(orderId);
+    }
+
+    /**
+     * Gets why an order recently left the kitchen.
+     *
+     * @param orderId The ID of the order
+     * @return The removal reason, or empty if the order was not removed recently
+     */
+    public Optional<RemovalReason> getRemovalReason(String orderId) {
+        return Optional.ofNullable(tombstones.get(orderId));
     }
 
     /**
@@ -103,38 +164,46 @@ public class Kitchen {
 
     /**
      * Stores an order in the kitchen.
+     * The order is indexed only after the unit holds it, and an order placed again under the
+     * ID of a removed order no longer reports the earlier removal.
+     *
      * @return true if the order was stored successfully, false otherwise
      */
     public boolean storeOrder(Order order, StorageUnit unit) {
         boolean stored = unit.storeOrder(order);
         if (stored) {
             orderLocations.put(order.getId(), unit);
+            tombstones.remove(order.getId());
         }
         return stored;
     }
 
     /**
-     * Removes an order from the kitchen.
+     * Removes an order from the kitchen and remembers why it left.
+     * The order is unindexed before it leaves its unit, and removing the index entry
+     * claims the order, so concurrent removals of the same order cannot both succeed.
      *
      * @param orderId The ID of the order to remove
+     * @param reason Why the order is leaving the kitchen
      * @return The removed order, or empty if not found
      */
-    public Optional<Order> removeOrder(String orderId) {
-        Optional<StorageUnit> unitOpt = findStorageUnitForOrder(orderId);
-        if (unitOpt.isEmpty()) {
+    public Optional<Order> removeOrder(String orderId, RemovalReason reason) {
+        StorageUnit unit = orderLocations.remove(orderId);
+        if (unit == null) {
             return Optional.empty();
         }
 
-        StorageUnit unit = unitOpt.get();
         Optional<Order> orderOpt = unit.removeOrder(orderId);
         if (orderOpt.isPresent()) {
-            orderLocations.remove(orderId);
+            tombstones.put(orderId, reason);
         }
         return orderOpt;
     }
 
     /**
      * Moves an order from one storage unit to another.
+     * The order is committed to the target and reindexed before it leaves the source.
+     * Callers must hold the locks of both units, or the order manager's global lock.
      *
      * @param orderId The ID of the order to move
      * @param sourceUnit The source storage unit
@@ -142,51 +211,173 @@ public class Kitchen {
      * @return true if the move was successful, false otherwise
      */
     public boolean moveOrder(String orderId, StorageUnit sourceUnit, StorageUnit targetUnit) {
-        kitchenLock.writeLock().lock();
-        try {
-            // Check if the order exists in the source unit
-            Optional<Order> orderOpt = sourceUnit.getOrder(orderId);
-            if (orderOpt.isEmpty()) {
-                return false;
-            }
+        // Check if the order exists in the source unit
+        Optional<Order> orderOpt = sourceUnit.getOrder(orderId);
+        if (orderOpt.isEmpty()) {
+            return false;
+        }
 
-            // Check if the target unit has capacity
-            if (!targetUnit.hasCapacity()) {
-                return false;
-            }
+        // Reserve and fill the target slot first, so the order always has a home
+        if (!targetUnit.tryReserve() || !targetUnit.commit(orderOpt.get())) {
+            return false;
+        }
+
+        orderLocations.put(orderId, targetUnit);
+        sourceUnit.removeOrder(orderId);
+        return true;
+    }
+
+    /**
+     * Acquires the lock of a single storage unit, without the varargs array of
+     * {@link #lockUnits(StorageUnit...)}.
+     *
+     * @param unit The storage unit to lock
+     */
+    public void lockUnit(StorageUnit unit) {
+        unit.getLock().lock();
+    }
+
+    /**
+     * Releases the lock acquired by {@link #lockUnit(StorageUnit)}.
+     *
+     * @param unit The storage unit to unlock
+     */
+    public void unlockUnit(StorageUnit unit) {
+        unit.getLock().unlock();
+    }
 
-            // Remove from source and add to target
-            Order order = orderOpt.get();
-            sourceUnit.removeOrder(orderId);
-            boolean stored = targetUnit.storeOrder(order);
-
-            // Update location map
-            if (stored) {
-                orderLocations.put(orderId, targetUnit);
-                return true;
-            } else {
-                // Rollback if target storage failed
-                sourceUnit.storeOrder(order);
+    /**
+     * Acquires the locks of the given storage units in their fixed lock order,
+     * so that operations spanning several units can never deadlock each other.
+     * The same unit may be passed more than once.
+     *
+     * @param units The storage units to lock
+     */
+    public void lockUnits(StorageUnit... units) {
+        if (units.length == 1) {
+            units[0].getLock().lock();
+            return;
+        }
+
+        StorageUnit[] ordered = units.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(StorageUnit::getLockOrder));
+        for (StorageUnit unit : ordered) {
+            unit.getLock().lock();
+        }
+    }
+
+    /**
+     * Acquires the locks of the given storage units only if none of them is held by another thread.
+     * Either every lock is acquired or none is. The same unit may be passed more than once.
+     *
+     * @param units The storage units to lock
+     * @return true if the locks were acquired, false if any of them was busy
+     */
+    public boolean tryLockUnits(StorageUnit... units) {
+        for (int i = 0; i < units.length; i++) {
+            if (!units[i].getLock().tryLock()) {
+                for (int j = i - 1; j >= 0; j--) {
+                    units[j].getLock().unlock();
+                }
                 return false;
             }
-        } finally {
-            kitchenLock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Releases the locks acquired by {@link #lockUnits(StorageUnit...)} or {@link #tryLockUnits(StorageUnit...)}.
+     *
+     * @param units The storage units to unlock
+     */
+    public void unlockUnits(StorageUnit... units) {
+        for (StorageUnit unit : units) {
+            unit.getLock().unlock();
+        }
+    }
+
+    /**
+     * Acquires the locks of every storage unit in the kitchen, in their fixed lock order.
+     */
+    public void lockAllUnits() {
+        for (StorageUnit unit : units) {
+            unit.getLock().lock();
         }
     }
 
+    /**
+     * Releases the locks acquired by {@link #lockAllUnits()}.
+     */
+    public void unlockAllUnits() {
+        for (int i = units.length - 1; i >= 0; i--) {
+            units[i].getLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of the orders on every shelf, keyed by order ID.
+     */
     public Map<String, Order> getShelfOrders() {
-        return shelf.getAllOrders();
+        Map<String, Order> shelfOrders = new HashMap<>();
+        for (StorageUnit shelf : unitsByType.get(StorageType.SHELF).units) {
+            shelfOrders.putAll(shelf.getAllOrders());
+        }
+        return shelfOrders;
     }
 
     public StorageUnit getHeater() {
-        return heater;
+        return getStorageUnit(StorageType.HEATER);
     }
 
     public StorageUnit getCooler() {
-        return cooler;
+        return getStorageUnit(StorageType.COOLER);
     }
 
     public StorageUnit getShelf() {
-        return shelf;
+        return getStorageUnit(StorageType.SHELF);
+    }
+
+    /**
+     * Storage units that are interchangeable for placement, such as every heater.
+     */
+    private static final class UnitGroup {
+        private final StorageUnit[] units;
+        private final AtomicInteger nextUnit = new AtomicInteger();
+
+        UnitGroup(StorageUnit[] units) {
+            this.units = units;
+        }
+
+        /**
+         * Chooses a unit according to the placement policy, preferring units with capacity.
+         * If every unit is full, some unit is still returned.
+         */
+        StorageUnit select(PlacementPolicy policy) {
+            if (units.length == 1) {
+                return units[0];
+            }
+
+            if (policy == PlacementPolicy.ROUND_ROBIN) {
+                int start = Math.floorMod(nextUnit.getAndIncrement(), units.length);
+                for (int i = 0; i < units.length; i++) {
+                    StorageUnit unit = units[(start + i) % units.length];
+                    if (unit.hasCapacity()) {
+                        return unit;
+                    }
+                }
+                return units[start];
+            }
+
+            StorageUnit leastOccupied = units[0];
+            int mostFreeSlots = leastOccupied.getCapacity() - leastOccupied.getOrderCount();
+            for (int i = 1; i < units.length; i++) {
+                int freeSlots = units[i].getCapacity() - units[i].getOrderCount();
+                if (freeSlots > mostFreeSlots) {
+                    mostFreeSlots = freeSlots;
+                    leastOccupied = units[i];
+                }
+            }
+            return leastOccupied;
+        }
     }
 }
\ No newline at end of file
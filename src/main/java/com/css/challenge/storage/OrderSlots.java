@@ -0,0 +1,54 @@
+package com.css.challenge.storage;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Backing store for the orders held by a storage unit.
+ * Capacity is enforced by the owning StorageUnit; implementations only track membership.
+ */
+interface OrderSlots {
+
+    /**
+     * Adds an order.
+     *
+     * @return true if the order was added, false if an order with the same ID is already present
+     */
+    boolean add(Order order);
+
+    /**
+     * Removes an order by its ID.
+     *
+     * @return The removed order, or null if not found
+     */
+    Order remove(String orderId);
+
+    /**
+     * Gets an order by its ID.
+     *
+     * @return The order, or null if not found
+     */
+    Order get(String orderId);
+
+    boolean contains(String orderId);
+
+    /**
+     * Finds any order with the given ideal temperature, in constant time.
+     *
+     * @return An order of that temperature, or null if there is none
+     */
+    Order findAny(Temperature temperature);
+
+    /**
+     * Performs the given action for every order, without copying.
+     */
+    void forEach(Consumer<? super Order> action);
+
+    /**
+     * Copies every order into the given map, keyed by order ID.
+     */
+    void copyInto(Map<String, Order> target);
+}
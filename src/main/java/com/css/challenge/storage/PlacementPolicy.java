@@ -0,0 +1,16 @@
+package com.css.challenge.storage;
+
+/**
+ * Represents how the kitchen spreads orders across several storage units of the same kind.
+ */
+public enum PlacementPolicy {
+    /**
+     * Choose the unit with the most free slots.
+     */
+    LEAST_OCCUPIED,
+
+    /**
+     * Rotate through the units, skipping units that are full.
+     */
+    ROUND_ROBIN
+}
@@ -0,0 +1,25 @@
+package com.css.challenge.storage;
+
+/**
+ * Represents how a storage unit lays out the orders it holds.
+ */
+public enum SlotLayout {
+    /**
+     * Orders are kept in a concurrent hash map keyed by order ID.
+     */
+    HASH,
+
+    /**
+     * Orders are kept in a fixed array of slots sized to the unit's capacity,
+     * so storing and removing orders allocates nothing.
+     */
+    ARRAY,
+
+    /**
+     * Orders are kept in a fixed array of slots as with {@link #ARRAY}, and slots are counted
+     * in a plain field, without any synchronization. Only valid for units whose orders are
+     * changed by a single owner thread, as in confined locking mode; other threads may read
+     * stale counts.
+     */
+    CONFINED
+}
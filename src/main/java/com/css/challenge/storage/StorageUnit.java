@@ -7,44 +7,121 @@ import com.css.challenge.domain.Temperature;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Represents a storage unit in the kitchen with specific capacity and temperature characteristics.
  * Thread-safe implementation to handle concurrent order operations.
  */
 public class StorageUnit {
+    // Source of the globally unique lock order assigned to every storage unit
+    private static final AtomicInteger NEXT_LOCK_ORDER = new AtomicInteger();
+
     private final StorageType type;
     private final Temperature temperature;
     private final int capacity;
-    private final Map<String, Order> orders;
+    private final OrderSlots orders;
 
-    public StorageUnit(StorageType type, Temperature temperature, int capacity) {
+    // Number of occupied or reserved slots; capacity is enforced on this counter alone
+    private final AtomicInteger occupiedSlots = new AtomicInteger();
+
+    // Confined units count slots in a plain field instead, as only their owner thread changes it
+    private final boolean confined;
+    private int confinedSlots;
+
+    // Lock guarding this unit when the order manager runs in striped locking mode
+    private final Lock lock = new ReentrantLock();
+    private final int lockOrder;
+
+    public StorageUnit(StorageType type, Temperature temperature, int capacity, SlotLayout layout) {
         this.type = type;
         this.temperature = temperature;
         this.capacity = capacity;
-        this.orders = new ConcurrentHashMap<>();
+        this.orders = switch (layout) {
+            case ARRAY -> new SynchronizedOrderSlots(new ArrayOrderSlots(capacity));
+            case CONFINED -> new ArrayOrderSlots(capacity);
+            default -> new HashOrderSlots();
+        };
+        this.confined = layout == SlotLayout.CONFINED;
+        this.lockOrder = NEXT_LOCK_ORDER.getAndIncrement();
+    }
+
+    public StorageUnit(StorageType type, Temperature temperature, int capacity) {
+        this(type, temperature, capacity, SlotLayout.HASH);
     }
 
     public boolean hasCapacity() {
-        return orders.size() < capacity;
+        return getOrderCount() < capacity;
     }
 
     /**
-     * Stores an order in this unit.
+     * Reserves a slot in this unit without storing an order yet.
+     * A successful reservation must be followed by either {@link #commit(Order)} or {@link #release()}.
+     *
+     * @return true if a slot was reserved, false if the unit is full
      */
-    public boolean storeOrder(Order order) {
-        if (!hasCapacity()) {
+    public boolean tryReserve() {
+        if (confined) {
+            if (confinedSlots >= capacity) {
+                return false;
+            }
+            confinedSlots++;
+            return true;
+        }
+
+        int occupied;
+        do {
+            occupied = occupiedSlots.get();
+            if (occupied >= capacity) {
+                return false;
+            }
+        } while (!occupiedSlots.compareAndSet(occupied, occupied + 1));
+        return true;
+    }
+
+    /**
+     * Stores an order in a slot previously reserved with {@link #tryReserve()}.
+     * If an order with the same ID is already stored, the reservation is released instead.
+     *
+     * @return true if the order was stored, false otherwise
+     */
+    public boolean commit(Order order) {
+        if (!orders.add(order)) {
+            release();
             return false;
         }
-        orders.put(order.getId(), order);
         return true;
     }
 
+    /**
+     * Releases a reserved or occupied slot.
+     */
+    public void release() {
+        if (confined) {
+            confinedSlots--;
+        } else {
+            occupiedSlots.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stores an order in this unit.
+     */
+    public boolean storeOrder(Order order) {
+        return tryReserve() && commit(order);
+    }
+
     /**
      * Removes an order from this unit by its ID.
      */
     public Optional<Order> removeOrder(String orderId) {
         Order removedOrder = orders.remove(orderId);
+        if (removedOrder != null) {
+            release();
+        }
         return Optional.ofNullable(removedOrder);
     }
 
@@ -52,7 +129,7 @@ public class StorageUnit {
      * Checks if this unit contains an order with the specified ID.
      */
     public boolean containsOrder(String orderId) {
-        return orders.containsKey(orderId);
+        return orders.contains(orderId);
     }
 
     /**
@@ -62,12 +139,37 @@ public class StorageUnit {
         return Optional.ofNullable(orders.get(orderId));
     }
 
+    /**
+     * Performs the given action for every order in this unit, without copying the unit's contents.
+     * The view is a consistent snapshot when the caller holds this unit's lock (or the manager's
+     * global lock); otherwise concurrent stores and removals may or may not be observed.
+     */
+    public void forEachOrder(Consumer<? super Order> action) {
+        orders.forEach(action);
+    }
+
+    /**
+     * Finds any order in this unit whose ideal temperature is the given one, in constant time.
+     */
+    public Optional<Order> findAnyOrder(Temperature orderTemperature) {
+        return Optional.ofNullable(orders.findAny(orderTemperature));
+    }
+
+    /**
+     * Returns a copy of the orders in this unit, keyed by order ID.
+     * Prefer {@link #forEachOrder(Consumer)} on hot paths.
+     */
     public Map<String, Order> getAllOrders() {
-        return new ConcurrentHashMap<>(orders);
+        Map<String, Order> copy = new ConcurrentHashMap<>();
+        orders.copyInto(copy);
+        return copy;
     }
 
+    /**
+     * Gets the number of occupied slots, including slots reserved for orders being stored.
+     */
     public int getOrderCount() {
-        return orders.size();
+        return confined ? confinedSlots : occupiedSlots.get();
     }
 
     public Temperature getTemperature() {
@@ -81,4 +183,19 @@ public class StorageUnit {
     public int getCapacity() {
         return capacity;
     }
+
+    /**
+     * Gets the lock guarding this unit in striped locking mode.
+     */
+    public Lock getLock() {
+        return lock;
+    }
+
+    /**
+     * Gets the position of this unit in the fixed lock acquisition order.
+     * Units with a lower value must be locked before units with a higher value.
+     */
+    public int getLockOrder() {
+        return lockOrder;
+    }
 }
@@ -0,0 +1,54 @@
+package com.css.challenge.storage;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Order slots that make another, non-thread-safe implementation thread-safe by
+ * synchronizing every operation on this instance.
+ */
+class SynchronizedOrderSlots implements OrderSlots {
+    private final OrderSlots slots;
+
+    SynchronizedOrderSlots(OrderSlots slots) {
+        this.slots = slots;
+    }
+
+    @Override
+    public synchronized boolean add(Order order) {
+        return slots.add(order);
+    }
+
+    @Override
+    public synchronized Order remove(String orderId) {
+        return slots.remove(orderId);
+    }
+
+    @Override
+    public synchronized Order get(String orderId) {
+        return slots.get(orderId);
+    }
+
+    @Override
+    public synchronized boolean contains(String orderId) {
+        return slots.contains(orderId);
+    }
+
+    @Override
+    public synchronized Order findAny(Temperature temperature) {
+        return slots.findAny(temperature);
+    }
+
+    @Override
+    public synchronized void forEach(Consumer<? super Order> action) {
+        slots.forEach(action);
+    }
+
+    @Override
+    public synchronized void copyInto(Map<String, Order> target) {
+        slots.copyInto(target);
+    }
+}
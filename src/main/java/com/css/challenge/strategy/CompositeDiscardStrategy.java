@@ -1,11 +1,10 @@
 package com.css.challenge.strategy;
 
 import com.css.challenge.domain.Order;
+import com.css.challenge.service.FreshnessScores;
 import com.css.challenge.service.FreshnessTracker;
 import com.css.challenge.storage.StorageUnit;
 
-import java.util.Map;
-
 /**
  * A composite strategy that combines temperature mismatch and freshness.
  * Orders not at ideal temperature are penalized in freshness calculation.
@@ -33,37 +32,35 @@ public class CompositeDiscardStrategy implements DiscardStrategy {
     }
 
     @Override
-    public String selectOrderToDiscard(
-            Map<String, Order> shelfOrders,
-            StorageUnit shelf,
-            FreshnessTracker freshnessTracker) {
+    public String selectOrderToDiscard(StorageUnit shelf, FreshnessTracker freshnessTracker) {
 
-        if (shelfOrders.isEmpty()) {
+        if (shelf.getOrderCount() == 0) {
             throw new IllegalStateException("Cannot select order to discard: shelf is empty");
         }
 
-        // Get normalized freshness values (0 = about to expire, 1 = fresh)
-        Map<String, Double> freshness = freshnessTracker.getNormalizedFreshnessValues();
+        // Get normalized freshness values of the shelf orders (0 = about to expire, 1 = fresh)
+        FreshnessScores freshness = freshnessTracker.scoreOrders(shelf);
 
         // Find the order with the lowest adjusted freshness value
-        String orderToDiscard = null;
-        double lowestAdjustedFreshness = Double.MAX_VALUE;
+        LowestScoreSelector selector = new LowestScoreSelector();
 
-        for (String orderId : shelfOrders.keySet()) {
-            Order order = shelfOrders.get(orderId);
-            double freshnessValue = freshness.getOrDefault(orderId, 0.0);
+        for (int i = 0; i < freshness.size(); i++) {
+            Order order = freshness.getOrder(i);
+            double freshnessValue = freshness.getNormalizedFreshness(i);
 
             // Apply temperature mismatch penalty
             if (shelf.getTemperature() != order.getTemp()) {
                 freshnessValue *= (1.0 - temperatureMismatchPenalty);
             }
 
-            if (freshnessValue < lowestAdjustedFreshness) {
-                lowestAdjustedFreshness = freshnessValue;
-                orderToDiscard = orderId;
-            }
+            selector.offer(order.getId(), freshnessValue);
         }
 
-        return orderToDiscard;
+        return selector.getSelectedOrderId();
+    }
+
+    @Override
+    public DiscardBatch startBatch(StorageUnit shelf, FreshnessTracker freshnessTracker) {
+        return new ScoredDiscardBatch(shelf, freshnessTracker, temperatureMismatchPenalty);
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.css.challenge.strategy;
+
+/**
+ * Selects orders to discard from one shelf over a batch of placements.
+ * Only valid while the caller holds the locks of the batch.
+ */
+@FunctionalInterface
+public interface DiscardBatch {
+
+    /**
+     * Selects the next order to be discarded from the shelf.
+     *
+     * @return ID of the selected order to discard
+     * @throws IllegalStateException if no order can be selected
+     */
+    String selectOrderToDiscard();
+}
@@ -1,11 +1,8 @@
 package com.css.challenge.strategy;
 
-import com.css.challenge.domain.Order;
 import com.css.challenge.service.FreshnessTracker;
 import com.css.challenge.storage.StorageUnit;
 
-import java.util.Map;
-
 /**
  * Interface defining a strategy for selecting orders to discard.
  * Different implementations can provide different selection criteria.
@@ -14,15 +11,26 @@ public interface DiscardStrategy {
 
     /**
      * Selects an order to be discarded from the shelf.
+     * Implementations read the shelf through {@link StorageUnit#forEachOrder} rather than copying it.
      *
-     * @param shelfOrders Map of order IDs to orders currently on the shelf
      * @param shelf The shelf storage unit
      * @param freshnessTracker Tracker to access freshness information
      * @return ID of the selected order to discard
      * @throws IllegalStateException if no order can be selected
      */
-    String selectOrderToDiscard(
-            Map<String, Order> shelfOrders,
-            StorageUnit shelf,
-            FreshnessTracker freshnessTracker);
-}
\ No newline at end of file
+    String selectOrderToDiscard(StorageUnit shelf, FreshnessTracker freshnessTracker);
+
+    /**
+     * Starts selecting orders to discard from a shelf for a batch of placements.
+     * Implementations may reuse the work of earlier selections in the batch, as long as each
+     * selection matches {@link #selectOrderToDiscard} while time stands still. The default
+     * evaluates every selection from scratch.
+     *
+     * @param shelf The shelf storage unit
+     * @param freshnessTracker Tracker to access freshness information
+     * @return The selections for the batch
+     */
+    default DiscardBatch startBatch(StorageUnit shelf, FreshnessTracker freshnessTracker) {
+        return () -> selectOrderToDiscard(shelf, freshnessTracker);
+    }
+}
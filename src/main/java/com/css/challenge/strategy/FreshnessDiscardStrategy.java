@@ -1,11 +1,9 @@
 package com.css.challenge.strategy;
 
-import com.css.challenge.domain.Order;
+import com.css.challenge.service.FreshnessScores;
 import com.css.challenge.service.FreshnessTracker;
 import com.css.challenge.storage.StorageUnit;
 
-import java.util.Map;
-
 /**
  * Strategy for selecting orders to discard based on freshness.
  * Orders closest to expiry will be selected first.
@@ -13,31 +11,26 @@ import java.util.Map;
 public class FreshnessDiscardStrategy implements DiscardStrategy {
 
     @Override
-    public String selectOrderToDiscard(
-            Map<String, Order> shelfOrders,
-            StorageUnit shelf,
-            FreshnessTracker freshnessTracker) {
+    public String selectOrderToDiscard(StorageUnit shelf, FreshnessTracker freshnessTracker) {
 
-        if (shelfOrders.isEmpty()) {
+        if (shelf.getOrderCount() == 0) {
             throw new IllegalStateException("Cannot select order to discard: shelf is empty");
         }
 
-        // Get normalized freshness values (0 = about to expire, 1 = fresh)
-        Map<String, Double> freshness = freshnessTracker.getNormalizedFreshnessValues();
+        // Get normalized freshness values of the shelf orders (0 = about to expire, 1 = fresh)
+        FreshnessScores freshness = freshnessTracker.scoreOrders(shelf);
 
         // Find the order with the lowest freshness value
-        String orderToDiscard = null;
-        double lowestFreshness = Double.MAX_VALUE;
-
-        for (String orderId : shelfOrders.keySet()) {
-            double freshnessValue = freshness.getOrDefault(orderId, 0.0);
-
-            if (freshnessValue < lowestFreshness) {
-                lowestFreshness = freshnessValue;
-                orderToDiscard = orderId;
-            }
+        LowestScoreSelector selector = new LowestScoreSelector();
+        for (int i = 0; i < freshness.size(); i++) {
+            selector.offer(freshness.getOrder(i).getId(), freshness.getNormalizedFreshness(i));
         }
 
-        return orderToDiscard;
+        return selector.getSelectedOrderId();
+    }
+
+    @Override
+    public DiscardBatch startBatch(StorageUnit shelf, FreshnessTracker freshnessTracker) {
+        return new ScoredDiscardBatch(shelf, freshnessTracker, 0.0);
     }
 }
\ No newline at end of file
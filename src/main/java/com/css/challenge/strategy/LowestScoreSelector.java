@@ -0,0 +1,29 @@
+package com.css.challenge.strategy;
+
+/**
+ * Tracks the order with the lowest score offered so far.
+ * On ties, the order offered first is kept.
+ */
+class LowestScoreSelector {
+    private String selectedOrderId;
+    private double lowestScore = Double.MAX_VALUE;
+
+    void offer(String orderId, double score) {
+        if (score < lowestScore) {
+            lowestScore = score;
+            selectedOrderId = orderId;
+        }
+    }
+
+    /**
+     * Forgets every order offered so far, so the selector can be reused.
+     */
+    void reset() {
+        selectedOrderId = null;
+        lowestScore = Double.MAX_VALUE;
+    }
+
+    String getSelectedOrderId() {
+        return selectedOrderId;
+    }
+}
@@ -0,0 +1,51 @@
+package com.css.challenge.strategy;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.service.FreshnessTracker;
+import com.css.challenge.storage.StorageUnit;
+
+import java.util.function.Consumer;
+
+/**
+ * Discard selections that reuse one selector and shelf visitor across a batch, so that each
+ * selection streams the shelf once and allocates nothing, where a fresh evaluation allocates
+ * the freshness scores of the whole shelf. Every order is scored as a primitive when it is
+ * visited, so orders placed on or moved off the shelf during the batch are always seen as
+ * they are, and a selection matches a fresh evaluation at the same instant.
+ */
+class ScoredDiscardBatch implements DiscardBatch {
+    private final StorageUnit shelf;
+    private final FreshnessTracker freshnessTracker;
+    private final double temperatureMismatchPenalty;
+    private final LowestScoreSelector selector = new LowestScoreSelector();
+    private final Consumer<Order> offerOrder = this::offer;
+
+    /**
+     * @param temperatureMismatchPenalty Penalty factor for orders not at the shelf temperature (0.0-1.0)
+     */
+    ScoredDiscardBatch(StorageUnit shelf, FreshnessTracker freshnessTracker, double temperatureMismatchPenalty) {
+        this.shelf = shelf;
+        this.freshnessTracker = freshnessTracker;
+        this.temperatureMismatchPenalty = temperatureMismatchPenalty;
+    }
+
+    @Override
+    public String selectOrderToDiscard() {
+        if (shelf.getOrderCount() == 0) {
+            throw new IllegalStateException("Cannot select order to discard: shelf is empty");
+        }
+
+        // Offer in shelf order, as a fresh evaluation would, so ties resolve the same way
+        selector.reset();
+        shelf.forEachOrder(offerOrder);
+        return selector.getSelectedOrderId();
+    }
+
+    private void offer(Order order) {
+        double freshnessValue = freshnessTracker.getNormalizedFreshness(order.getId());
+        if (shelf.getTemperature() != order.getTemp()) {
+            freshnessValue *= (1.0 - temperatureMismatchPenalty);
+        }
+        selector.offer(order.getId(), freshnessValue);
+    }
+}
@@ -1,10 +1,12 @@
 package com.css.challenge.strategy;
 
 import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.FreshnessScores;
 import com.css.challenge.service.FreshnessTracker;
 import com.css.challenge.storage.StorageUnit;
 
-import java.util.Map;
+import java.util.Optional;
 
 /**
  * Strategy for selecting orders to discard based on temperature mismatch.
@@ -13,38 +15,30 @@ import java.util.Map;
 public class TemperatureMismatchDiscardStrategy implements DiscardStrategy {
 
     @Override
-    public String selectOrderToDiscard(
-            Map<String, Order> shelfOrders,
-            StorageUnit shelf,
-            FreshnessTracker freshnessTracker) {
+    public String selectOrderToDiscard(StorageUnit shelf, FreshnessTracker freshnessTracker) {
 
-        if (shelfOrders.isEmpty()) {
+        if (shelf.getOrderCount() == 0) {
             throw new IllegalStateException("Cannot select order to discard: shelf is empty");
         }
 
         // First priority: orders not at ideal temperature
-        for (Map.Entry<String, Order> entry : shelfOrders.entrySet()) {
-            Order order = entry.getValue();
-            if (shelf.getTemperature() != order.getTemp()) {
-                return entry.getKey();
+        for (Temperature temperature : Temperature.values()) {
+            if (temperature != shelf.getTemperature()) {
+                Optional<Order> mismatchedOrder = shelf.findAnyOrder(temperature);
+                if (mismatchedOrder.isPresent()) {
+                    return mismatchedOrder.get().getId();
+                }
             }
         }
 
         // If all orders are at ideal temperature, fall back to least fresh
-        Map<String, Double> freshness = freshnessTracker.getNormalizedFreshnessValues();
+        FreshnessScores freshness = freshnessTracker.scoreOrders(shelf);
 
-        String orderToDiscard = null;
-        double lowestFreshness = Double.MAX_VALUE;
-
-        for (String orderId : shelfOrders.keySet()) {
-            double freshnessValue = freshness.getOrDefault(orderId, 0.0);
-
-            if (freshnessValue < lowestFreshness) {
-                lowestFreshness = freshnessValue;
-                orderToDiscard = orderId;
-            }
+        LowestScoreSelector selector = new LowestScoreSelector();
+        for (int i = 0; i < freshness.size(); i++) {
+            selector.offer(freshness.getOrder(i).getId(), freshness.getNormalizedFreshness(i));
         }
 
-        return orderToDiscard;
+        return selector.getSelectedOrderId();
     }
 }
\ No newline at end of file
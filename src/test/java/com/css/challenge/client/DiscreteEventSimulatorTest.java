@@ -0,0 +1,67 @@
+package com.css.challenge.client;
+
+import com.css.challenge.clock.VirtualClock;
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.ActionType;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.ActionLogger;
+import com.css.challenge.service.ActionLoggerImpl;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for DiscreteEventSimulator.
+ */
+public class DiscreteEventSimulatorTest {
+
+    @Test
+    public void testActionsFollowVirtualSchedule() {
+        VirtualClock clock = new VirtualClock();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            orders.add(new Order("order" + i, "Meal", Temperature.values()[i % 3], 5 + i % 20));
+        }
+        ActionLogger actionLogger = new ActionLoggerImpl(clock, false);
+        OrderManagerImpl orderManager = new OrderManagerImpl(
+                new Kitchen(), actionLogger, new FreshnessTrackerImpl(clock), new CompositeDiscardStrategy());
+        long startMicros = clock.currentTimeMicros();
+
+        List<Action> actions = new DiscreteEventSimulator(
+                orders, orderManager, actionLogger, clock, 500, 4000, 8000, new Random(42)).run();
+
+        Map<String, Long> placedAt = new HashMap<>();
+        Map<String, Long> removedAt = new HashMap<>();
+        long previousTimestamp = startMicros;
+        for (Action action : actions) {
+            assertTrue(action.getTimestamp() >= previousTimestamp);
+            previousTimestamp = action.getTimestamp();
+            if (action.getActionType().equals(ActionType.PLACE.getValue())) {
+                placedAt.put(action.getId(), action.getTimestamp());
+            } else if (!action.getActionType().equals(ActionType.MOVE.getValue())) {
+                assertNull(removedAt.put(action.getId(), action.getTimestamp()));
+            }
+        }
+
+        assertEquals(orders.size(), placedAt.size());
+        assertEquals(orders.size(), removedAt.size());
+        for (int i = 0; i < orders.size(); i++) {
+            String orderId = "order" + i;
+            assertEquals(startMicros + i * 500_000L, (long) placedAt.get(orderId));
+            assertTrue(removedAt.get(orderId) - placedAt.get(orderId) <= 8_000_000);
+        }
+        // Ends at the last pickup, without waiting in real time
+        assertEquals(previousTimestamp, clock.currentTimeMicros());
+    }
+}
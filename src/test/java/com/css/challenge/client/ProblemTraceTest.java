@@ -0,0 +1,63 @@
+package com.css.challenge.client;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for ProblemTrace and ProblemTraceReader.
+ */
+public class ProblemTraceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRecordedProblemReadsBack() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("problem.jsonl");
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            orders.add(new Order("order" + i, "Meal " + i, Temperature.values()[i % 3], 5 + i % 20));
+        }
+        ProblemTrace.write(path, new ProblemTrace("test1", 42, 500, 4000, 8000, 1_700_000_000_000_000L), orders);
+
+        try (ProblemTraceReader reader = new ProblemTraceReader(path)) {
+            ProblemTrace header = reader.getHeader();
+            assertEquals("test1", header.getTestId());
+            assertEquals(42, header.getSeed());
+            assertEquals(500, header.getRateMs());
+            assertEquals(4000, header.getMinPickupMs());
+            assertEquals(8000, header.getMaxPickupMs());
+            assertEquals(1_700_000_000_000_000L, header.getRecordedAtMicros());
+
+            int i = 0;
+            for (Order order : reader) {
+                Order expected = orders.get(i++);
+                assertEquals(expected.getId(), order.getId());
+                assertEquals(expected.getName(), order.getName());
+                assertEquals(expected.getTemp(), order.getTemp());
+                assertEquals(expected.getFreshness(), order.getFreshness());
+            }
+            assertEquals(orders.size(), i);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTraceIsIteratedOnce() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("problem.jsonl");
+        ProblemTrace.write(path, new ProblemTrace("test1", 42, 500, 4000, 8000, 0), List.of());
+
+        try (ProblemTraceReader reader = new ProblemTraceReader(path)) {
+            reader.iterator();
+            reader.iterator();
+        }
+    }
+}
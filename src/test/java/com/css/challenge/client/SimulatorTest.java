@@ -0,0 +1,132 @@
+package com.css.challenge.client;
+
+import com.css.challenge.domain.TestOrders;
+import com.css.challenge.service.ActionLogger;
+import com.css.challenge.service.ActionLoggerImpl;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.OrderManager;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for Simulator.
+ */
+public class SimulatorTest {
+
+    @Test(timeout = 10_000)
+    public void testRunCompletesAfterLastPickupWithinInFlightLimit() throws Exception {
+        ActionLogger actionLogger = new ActionLoggerImpl(false);
+        OrderManager delegate = new OrderManagerImpl(
+                new Kitchen(), actionLogger, new FreshnessTrackerImpl(), new CompositeDiscardStrategy());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        OrderManager orderManager = mock(OrderManager.class);
+        when(orderManager.placeOrder(any())).thenAnswer(invocation -> {
+            maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return delegate.placeOrder(invocation.getArgument(0));
+        });
+        when(orderManager.pickupOrder(anyString())).thenAnswer(invocation -> {
+            inFlight.decrementAndGet();
+            return delegate.pickupOrder(invocation.getArgument(0));
+        });
+
+        // Placement is fast and pickups are slow, so only the window limits in-flight orders
+        Simulator simulator = new Simulator(TestOrders.create(40), orderManager, actionLogger, 1, 20, 30, 5);
+        simulator.run();
+
+        assertEquals(80, actionLogger.getAllActions().size());
+        assertEquals(0, inFlight.get());
+        assertTrue(maxObserved.get() <= 5);
+        assertEquals(40, simulator.getPlacementLateness().getCount());
+        assertEquals(40, simulator.getPickupLateness().getCount());
+        // Each in-flight order waits for either its placement or its pickup
+        assertTrue(simulator.getMaxQueueDepth() >= 1 && simulator.getMaxQueueDepth() <= 5);
+    }
+
+    @Test(timeout = 10_000)
+    public void testVirtualThreadPerOrderRunsEveryLifecycle() throws Exception {
+        ActionLogger actionLogger = new ActionLoggerImpl(false);
+        OrderManager orderManager = new OrderManagerImpl(
+                new Kitchen(500, 500, 500), actionLogger, new FreshnessTrackerImpl(), new CompositeDiscardStrategy());
+
+        // Every order is in flight at once, each waiting on its own virtual thread
+        new Simulator(TestOrders.create(1_000), orderManager, actionLogger, 0, 50, 100, 1_000,
+                SchedulingMode.VIRTUAL_THREADS).run();
+
+        assertEquals(2_000, actionLogger.getAllActions().size());
+    }
+
+    @Test(timeout = 10_000)
+    public void testPickupFailureFailsRun() throws Exception {
+        ActionLogger actionLogger = new ActionLoggerImpl(false);
+        OrderManager orderManager = mock(OrderManager.class);
+        when(orderManager.pickupOrder("order3")).thenThrow(new IllegalStateException("pickup failed"));
+
+        try {
+            new Simulator(TestOrders.create(10), orderManager, actionLogger, 1, 1, 2, 10).run();
+            fail("Expected the pickup failure to fail the run");
+        } catch (ExecutionException e) {
+            assertEquals("pickup failed", e.getCause().getMessage());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testErrorInScheduledTaskFailsRun() throws Exception {
+        OrderManager orderManager = mock(OrderManager.class);
+        when(orderManager.placeOrder(any())).thenThrow(new AssertionError("placement broke"));
+
+        for (SchedulingMode schedulingMode : SchedulingMode.values()) {
+            try {
+                new Simulator(TestOrders.create(10), orderManager, new ActionLoggerImpl(false), 1, 1, 2, 10,
+                        schedulingMode).run();
+                fail("Expected the error to fail the run");
+            } catch (ExecutionException e) {
+                assertEquals("placement broke", e.getCause().getMessage());
+            }
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testSeededRandomDrawsPickupDelaysInOrderSequence() throws Exception {
+        for (SchedulingMode schedulingMode : SchedulingMode.values()) {
+            List<Integer> draws = new ArrayList<>();
+            List<Thread> drawingThreads = new ArrayList<>();
+            Random recording = new Random(42) {
+                @Override
+                public synchronized int nextInt(int bound) {
+                    int draw = super.nextInt(bound);
+                    draws.add(draw);
+                    drawingThreads.add(Thread.currentThread());
+                    return draw;
+                }
+            };
+            ActionLogger actionLogger = new ActionLoggerImpl(false);
+            OrderManager orderManager = new OrderManagerImpl(
+                    new Kitchen(), actionLogger, new FreshnessTrackerImpl(), new CompositeDiscardStrategy());
+
+            new Simulator(TestOrders.create(10), orderManager, actionLogger, 1, 1, 5, 10,
+                    schedulingMode, recording).run();
+
+            // Every delay is drawn by the dispatching thread, so a seed gives each order the same delay
+            Random expected = new Random(42);
+            assertEquals(10, draws.size());
+            for (int i = 0; i < draws.size(); i++) {
+                assertEquals(expected.nextInt(5), (int) draws.get(i));
+                assertSame(Thread.currentThread(), drawingThreads.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.css.challenge.clock;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for VirtualClock.
+ */
+public class VirtualClockTest {
+
+    @Test
+    public void testClockOnlyMovesWhenAdvanced() {
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        VirtualClock clock = new VirtualClock(start);
+
+        assertEquals(0, clock.nanoTime());
+        assertEquals(start.toEpochMilli() * 1000, clock.currentTimeMicros());
+
+        clock.advance(Duration.ofMillis(1_500));
+        assertEquals(1_500_000_000L, clock.nanoTime());
+        assertEquals(start.toEpochMilli() * 1000 + 1_500_000, clock.currentTimeMicros());
+    }
+
+    @Test
+    public void testAdvanceToNeverMovesBackwards() {
+        VirtualClock clock = new VirtualClock();
+        clock.advanceTo(2_000);
+        clock.advanceTo(1_000);
+
+        assertEquals(2_000, clock.nanoTime());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeAdvanceIsRejected() {
+        new VirtualClock().advance(Duration.ofMillis(-1));
+    }
+}
@@ -0,0 +1,34 @@
+package com.css.challenge.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for Order.
+ */
+public class OrderTest {
+
+    @Test
+    public void testParseReadsEveryField() throws JsonProcessingException {
+        List<Order> orders = Order.parse("[{\"id\":\"a1\",\"name\":\"Soup\",\"temp\":\"hot\",\"freshness\":30}]");
+
+        assertEquals(1, orders.size());
+        assertEquals("a1", orders.get(0).getId());
+        assertEquals(Temperature.HOT, orders.get(0).getTemp());
+        assertEquals(30, orders.get(0).getFreshness());
+    }
+
+    @Test
+    public void testParseRejectsMissingTemperature() {
+        try {
+            Order.parse("[{\"id\":\"a1\",\"name\":\"Soup\",\"freshness\":30}]");
+            fail("Expected an order without a temperature to be rejected");
+        } catch (JsonProcessingException e) {
+            assertTrue(e.getMessage().contains("Order a1 has no temperature"));
+        }
+    }
+}
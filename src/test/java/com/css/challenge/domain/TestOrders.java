@@ -0,0 +1,27 @@
+package com.css.challenge.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test fixture creating orders spread evenly across temperatures.
+ */
+public final class TestOrders {
+
+    private TestOrders() {
+    }
+
+    /**
+     * Creates orders with IDs order0, order1, ..., cycling through the temperatures.
+     *
+     * @param count The number of orders
+     * @return The orders
+     */
+    public static List<Order> create(int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orders.add(new Order("order" + i, "Meal", Temperature.values()[i % 3], 300));
+        }
+        return orders;
+    }
+}
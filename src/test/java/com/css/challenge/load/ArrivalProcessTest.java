@@ -0,0 +1,72 @@
+package com.css.challenge.load;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the arrival processes.
+ */
+public class ArrivalProcessTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static double meanGapMillis(ArrivalProcess arrivals, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long totalNanos = 0;
+        for (int i = 0; i < count; i++) {
+            totalNanos += arrivals.nextGapNanos(random);
+        }
+        return totalNanos / 1e6 / count;
+    }
+
+    @Test
+    public void testPoissonArrivalsAverageTheMeanGap() {
+        assertEquals(10.0, meanGapMillis(new PoissonArrivals(10), 100_000, 1), 0.2);
+    }
+
+    @Test
+    public void testOnOffArrivalsAverageTheLongRunGapWithQuietPhases() {
+        // Rushes at 1 ms gaps for 100 ms, then 300 ms of quiet, average out to 4 ms gaps
+        OnOffArrivals arrivals = new OnOffArrivals(1, 100, 300);
+        SplittableRandom random = new SplittableRandom(2);
+        long longestGapNanos = 0;
+        long totalNanos = 0;
+        for (int i = 0; i < 200_000; i++) {
+            long gapNanos = arrivals.nextGapNanos(random);
+            longestGapNanos = Math.max(longestGapNanos, gapNanos);
+            totalNanos += gapNanos;
+        }
+
+        assertEquals(4.0, totalNanos / 1e6 / 200_000, 0.2);
+        assertTrue(longestGapNanos > 300_000_000L);
+    }
+
+    @Test
+    public void testSeedReproducesArrivals() {
+        assertEquals(meanGapMillis(new OnOffArrivals(1, 100, 300), 1_000, 7),
+                meanGapMillis(new OnOffArrivals(1, 100, 300), 1_000, 7), 0.0);
+    }
+
+    @Test
+    public void testTraceArrivalsReplayRecordedGaps() throws Exception {
+        Path trace = temporaryFolder.newFile("arrivals.txt").toPath();
+        Files.writeString(trace, "1000\n1250\n\n1200\n2000\n");
+
+        TraceArrivals arrivals = TraceArrivals.read(trace);
+        SplittableRandom random = new SplittableRandom(0);
+
+        assertEquals(0, arrivals.nextGapNanos(random));
+        assertEquals(200_000_000L, arrivals.nextGapNanos(random));
+        assertEquals(50_000_000L, arrivals.nextGapNanos(random));
+        assertEquals(750_000_000L, arrivals.nextGapNanos(random));
+        assertFalse(arrivals.hasNext());
+    }
+}
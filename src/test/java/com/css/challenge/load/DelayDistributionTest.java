@@ -0,0 +1,70 @@
+package com.css.challenge.load;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for the pickup delay distributions.
+ */
+public class DelayDistributionTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static long[] sampleMillis(DelayDistribution delays, int count) {
+        SplittableRandom random = new SplittableRandom(3);
+        long[] samples = new long[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = delays.sampleNanos(random) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    @Test
+    public void testUniformDelaysStayInRange() {
+        long[] samples = sampleMillis(new UniformDelay(4000, 8000), 10_000);
+
+        assertTrue(samples[0] >= 4000);
+        assertTrue(samples[samples.length - 1] <= 8000);
+    }
+
+    @Test
+    public void testLogNormalDelaysFitRange() {
+        long[] samples = sampleMillis(LogNormalDelay.fitting(4000, 8000), 100_000);
+
+        // Median at the geometric middle, and about 95% of delays within the range
+        assertEquals(Math.sqrt(4000.0 * 8000), samples[samples.length / 2], 60);
+        long inRange = Arrays.stream(samples).filter(delay -> delay >= 4000 && delay <= 8000).count();
+        assertEquals(0.95, (double) inRange / samples.length, 0.01);
+    }
+
+    @Test
+    public void testEmpiricalDelaysInterpolateBetweenSamples() {
+        long[] samples = sampleMillis(new EmpiricalDelay(100, 300, 200), 10_000);
+
+        assertTrue(samples[0] >= 100);
+        assertTrue(samples[samples.length - 1] <= 300);
+        assertEquals(200, samples[samples.length / 2], 5);
+    }
+
+    @Test
+    public void testEmpiricalDelaysReadFromSamplesFile() throws Exception {
+        Path samplesFile = folder.newFile("delays.txt").toPath();
+        Files.writeString(samplesFile, "4000\n\n6000\n5000\n");
+
+        long[] samples = sampleMillis(EmpiricalDelay.read(samplesFile), 10_000);
+
+        assertTrue(samples[0] >= 4000);
+        assertTrue(samples[samples.length - 1] <= 6000);
+        assertEquals(5000, samples[samples.length / 2], 50);
+    }
+}
@@ -0,0 +1,83 @@
+package com.css.challenge.load;
+
+import com.css.challenge.domain.TestOrders;
+import com.css.challenge.service.ActionLogger;
+import com.css.challenge.service.ActionLoggerImpl;
+import com.css.challenge.service.FreshnessTrackerImpl;
+import com.css.challenge.service.OrderManager;
+import com.css.challenge.service.OrderManagerImpl;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for LoadGenerator.
+ */
+public class LoadGeneratorTest {
+
+    @Test(timeout = 10_000)
+    public void testEveryArrivalIsPlacedAndPickedUp() throws Exception {
+        ActionLogger actionLogger = new ActionLoggerImpl(false);
+        OrderManager orderManager = new OrderManagerImpl(
+                new Kitchen(500, 500, 500), actionLogger, new FreshnessTrackerImpl(), new CompositeDiscardStrategy());
+
+        LoadGenerator loadGenerator = new LoadGenerator(
+                TestOrders.create(500), orderManager, actionLogger, new PoissonArrivals(0.5), new LogNormalDelay(20, 0.5), 11);
+        loadGenerator.run();
+
+        assertEquals(500, loadGenerator.getOrdersDispatched());
+        assertEquals(1_000, actionLogger.getAllActions().size());
+        assertEquals(500, loadGenerator.getPlacementLatency().getCount());
+        assertEquals(500, loadGenerator.getPickupLatency().getCount());
+    }
+
+    @Test(timeout = 10_000)
+    public void testRunEndsWhenArrivalsRunOut() throws Exception {
+        ActionLogger actionLogger = new ActionLoggerImpl(false);
+        OrderManager orderManager = new OrderManagerImpl(
+                new Kitchen(), actionLogger, new FreshnessTrackerImpl(), new CompositeDiscardStrategy());
+
+        LoadGenerator loadGenerator = new LoadGenerator(
+                TestOrders.create(10), orderManager, actionLogger, new TraceArrivals(new long[] {0, 5, 10}),
+                new UniformDelay(1, 2), 5);
+        loadGenerator.run();
+
+        assertEquals(3, loadGenerator.getOrdersDispatched());
+        assertEquals(6, actionLogger.getAllActions().size());
+    }
+
+    @Test(timeout = 10_000)
+    public void testPlacementFailureFailsRun() throws Exception {
+        OrderManager orderManager = mock(OrderManager.class);
+        when(orderManager.placeOrder(any())).thenThrow(new IllegalStateException("placement failed"));
+
+        try {
+            new LoadGenerator(TestOrders.create(5), orderManager, new ActionLoggerImpl(false),
+                    new FixedRateArrivals(1), new UniformDelay(1, 2), 5).run();
+            fail("Expected the placement failure to fail the run");
+        } catch (ExecutionException e) {
+            assertEquals("placement failed", e.getCause().getMessage());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void testErrorOnOrderThreadFailsRun() throws Exception {
+        OrderManager orderManager = mock(OrderManager.class);
+        when(orderManager.pickupOrder(anyString())).thenThrow(new AssertionError("pickup broke"));
+
+        try {
+            new LoadGenerator(TestOrders.create(5), orderManager, new ActionLoggerImpl(false),
+                    new FixedRateArrivals(1), new UniformDelay(1, 2), 5).run();
+            fail("Expected the error to fail the run");
+        } catch (ExecutionException e) {
+            assertEquals("pickup broke", e.getCause().getMessage());
+        }
+    }
+}
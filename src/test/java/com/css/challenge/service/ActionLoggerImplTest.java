@@ -0,0 +1,52 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.ActionType;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for ActionLoggerImpl.
+ */
+public class ActionLoggerImplTest {
+
+    @Test
+    public void testTimestampsFollowWallClockAndNeverGoBackwards() {
+        ActionLogger actionLogger = new ActionLoggerImpl(false);
+        long before = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+
+        Action previous = actionLogger.logAction("order0", ActionType.PLACE);
+        for (int i = 1; i < 100; i++) {
+            Action action = actionLogger.logAction("order" + i, ActionType.PLACE);
+            assertTrue(action.getTimestamp() >= previous.getTimestamp());
+            previous = action;
+        }
+
+        long after = ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+        // Allow for clock granularity between the logger's anchor and this test's readings
+        assertTrue(Math.abs(previous.getTimestamp() - after) < 1_000_000);
+        assertTrue(previous.getTimestamp() >= before - 1_000_000);
+    }
+
+    @Test
+    public void testActionsForOrderAreReturnedInLogOrder() {
+        ActionLogger actionLogger = new ActionLoggerImpl(false);
+        actionLogger.logAction("a", ActionType.PLACE);
+        actionLogger.logAction("b", ActionType.PLACE);
+        actionLogger.logAction("a", ActionType.MOVE);
+        actionLogger.logAction("a", ActionType.PICKUP);
+
+        List<Action> actions = actionLogger.getActionsForOrder("a");
+
+        assertEquals(3, actions.size());
+        assertEquals("place", actions.get(0).getActionType());
+        assertEquals("move", actions.get(1).getActionType());
+        assertEquals("pickup", actions.get(2).getActionType());
+        assertEquals(4, actionLogger.getAllActions().size());
+    }
+}
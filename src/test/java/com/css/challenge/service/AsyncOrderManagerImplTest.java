@@ -0,0 +1,81 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for AsyncOrderManagerImpl.
+ */
+public class AsyncOrderManagerImplTest {
+
+    private ExecutorService executor;
+    private OrderManager delegate;
+    private AsyncOrderManagerImpl orderManager;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        delegate = new OrderManagerImpl(
+                new Kitchen(100, 100, 100), new ActionLoggerImpl(), new FreshnessTrackerImpl(), new CompositeDiscardStrategy(), LockingMode.STRIPED);
+        orderManager = new AsyncOrderManagerImpl(delegate, executor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testPickupNeverOvertakesPlacement() {
+        List<CompletableFuture<Optional<Order>>> pickups = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Temperature temperature = Temperature.values()[i % Temperature.values().length];
+            orderManager.placeOrderAsync(new Order("order" + i, "Meal", temperature, 300));
+            pickups.add(orderManager.pickupOrderAsync("order" + i));
+        }
+
+        for (CompletableFuture<Optional<Order>> pickup : pickups) {
+            assertTrue(pickup.join().isPresent());
+        }
+        assertEquals(400, delegate.getAllActions().size());
+    }
+
+    @Test
+    public void testFailedOperationDoesNotBlockLaterOperations() {
+        CompletableFuture<Boolean> badMove = orderManager.moveOrderAsync("order1", "OVEN", "SHELF");
+        CompletableFuture<Boolean> discard = orderManager.discardOrderAsync("order1");
+
+        try {
+            badMove.join();
+            fail("Expected the move to fail");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        assertFalse(discard.join());
+    }
+
+    @Test
+    public void testVirtualThreadExecutor() {
+        AsyncOrderManager virtualOrderManager = new AsyncOrderManagerImpl(delegate);
+
+        virtualOrderManager.placeOrderAsync(new Order("hot1", "Pizza", Temperature.HOT, 300));
+
+        assertEquals(Optional.of("hot1"),
+                virtualOrderManager.pickupOrderAsync("hot1").join().map(Order::getId));
+    }
+}
@@ -0,0 +1,77 @@
+package com.css.challenge.service;
+
+import com.css.challenge.clock.Clock;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for ExpiryTimerWheel.
+ */
+public class ExpiryTimerWheelTest {
+
+    private OrderManagerImpl orderManager;
+    private ExpiryTimerWheel timerWheel;
+
+    @Before
+    public void setUp() {
+        FreshnessTracker freshnessTracker = new FreshnessTrackerImpl();
+        orderManager = new OrderManagerImpl(
+                new Kitchen(1, 1, 4), new ActionLoggerImpl(false), freshnessTracker, new CompositeDiscardStrategy());
+        timerWheel = new ExpiryTimerWheel(orderManager, freshnessTracker, Clock.system(), 10, 64);
+        orderManager.addLifecycleListener(timerWheel);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        timerWheel.close();
+    }
+
+    @Test
+    public void testExpiredOrderIsDiscarded() throws InterruptedException {
+        orderManager.placeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300));
+        // Heater is full, so this order decays twice as fast on the shelf and expires after 500 ms
+        orderManager.placeOrder(new Order("hot2", "Soup", Temperature.HOT, 1));
+
+        Thread.sleep(800);
+
+        assertFalse(orderManager.orderExists("hot2"));
+        assertEquals(Optional.of(RemovalReason.DISCARDED), orderManager.getRemovalReason("hot2"));
+        assertTrue(orderManager.orderExists("hot1"));
+        assertEquals(1, timerWheel.getScheduledCount());
+    }
+
+    @Test
+    public void testMoveReschedulesExpiry() throws InterruptedException {
+        orderManager.placeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300));
+        orderManager.placeOrder(new Order("hot2", "Soup", Temperature.HOT, 1));
+        orderManager.pickupOrder("hot1");
+        assertTrue(orderManager.moveOrder("hot2", "SHELF", "HEATER"));
+
+        // In the heater the order lasts its full second
+        Thread.sleep(700);
+        assertTrue(orderManager.orderExists("hot2"));
+
+        Thread.sleep(600);
+        assertFalse(orderManager.orderExists("hot2"));
+    }
+
+    @Test
+    public void testPickupCancelsExpiry() {
+        orderManager.placeOrder(new Order("cold1", "Salad", Temperature.COLD, 1));
+        assertEquals(1, timerWheel.getScheduledCount());
+
+        orderManager.pickupOrder("cold1");
+
+        assertEquals(0, timerWheel.getScheduledCount());
+    }
+}
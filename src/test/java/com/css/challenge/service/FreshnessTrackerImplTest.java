@@ -0,0 +1,129 @@
+package com.css.challenge.service;
+
+import com.css.challenge.clock.VirtualClock;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.StorageType;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.StorageUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for FreshnessTrackerImpl.
+ */
+public class FreshnessTrackerImplTest {
+
+    private FreshnessTracker freshnessTracker;
+
+    @Before
+    public void setUp() {
+        freshnessTracker = new FreshnessTrackerImpl();
+    }
+
+    @Test
+    public void testPeekLeastFreshPerStorageTemperature() {
+        freshnessTracker.trackOrder(new Order("room1", "Bread", Temperature.ROOM, 300), Temperature.ROOM);
+        freshnessTracker.trackOrder(new Order("hot1", "Soup", Temperature.HOT, 200), Temperature.ROOM);
+        freshnessTracker.trackOrder(new Order("hot2", "Pizza", Temperature.HOT, 20), Temperature.HOT);
+
+        // On the shelf the hot order decays twice as fast, so it expires after 100 seconds
+        assertEquals(Optional.of("hot1"), freshnessTracker.peekLeastFresh(Temperature.ROOM).map(Order::getId));
+        assertEquals(Optional.of("room1"),
+                freshnessTracker.peekLeastFresh(Temperature.ROOM, Temperature.ROOM).map(Order::getId));
+        assertEquals(Optional.of("hot2"), freshnessTracker.peekLeastFresh(Temperature.HOT).map(Order::getId));
+        assertFalse(freshnessTracker.peekLeastFresh(Temperature.COLD).isPresent());
+    }
+
+    @Test
+    public void testHeapFollowsMovesAndRemovals() {
+        Order hotOrder = new Order("hot1", "Soup", Temperature.HOT, 10);
+        freshnessTracker.trackOrder(hotOrder, Temperature.ROOM);
+        freshnessTracker.trackOrder(new Order("room1", "Bread", Temperature.ROOM, 300), Temperature.ROOM);
+        assertEquals(Optional.of("hot1"), freshnessTracker.peekLeastFresh(Temperature.ROOM).map(Order::getId));
+
+        freshnessTracker.trackOrder(hotOrder, Temperature.HOT);
+        assertEquals(Optional.of("room1"), freshnessTracker.peekLeastFresh(Temperature.ROOM).map(Order::getId));
+        assertEquals(Optional.of("hot1"), freshnessTracker.peekLeastFresh(Temperature.HOT).map(Order::getId));
+
+        freshnessTracker.stopTracking("room1");
+        assertFalse(freshnessTracker.peekLeastFresh(Temperature.ROOM).isPresent());
+    }
+
+    @Test
+    public void testOrdersSortedByFreshnessAtStorageTemperature() {
+        for (int i = 0; i < 50; i++) {
+            // Shelf lives cycle so that heap order differs from insertion order
+            int freshness = 100 + (i * 37) % 50;
+            freshnessTracker.trackOrder(new Order("room" + i, "Bread", Temperature.ROOM, freshness), Temperature.ROOM);
+        }
+        freshnessTracker.trackOrder(new Order("cold1", "Salad", Temperature.COLD, 1), Temperature.COLD);
+        for (int i = 0; i < 50; i += 3) {
+            freshnessTracker.stopTracking("room" + i);
+        }
+
+        List<Order> sorted = freshnessTracker.getOrdersSortedByFreshness(Temperature.ROOM);
+
+        assertEquals(33, sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i - 1).getFreshness() <= sorted.get(i).getFreshness());
+        }
+        assertEquals(sorted.get(0), freshnessTracker.peekLeastFresh(Temperature.ROOM).orElse(null));
+    }
+
+    @Test
+    public void testScoreOrdersCoversOnlyTheUnit() {
+        StorageUnit shelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 4);
+        Order roomOrder = new Order("room1", "Bread", Temperature.ROOM, 300);
+        Order hotOrder = new Order("hot1", "Soup", Temperature.HOT, 300);
+        Order untracked = new Order("room2", "Cake", Temperature.ROOM, 300);
+        shelf.storeOrder(roomOrder);
+        shelf.storeOrder(hotOrder);
+        shelf.storeOrder(untracked);
+        freshnessTracker.trackOrder(roomOrder, Temperature.ROOM);
+        freshnessTracker.trackOrder(hotOrder, Temperature.ROOM);
+        freshnessTracker.trackOrder(new Order("cold1", "Salad", Temperature.COLD, 300), Temperature.COLD);
+
+        FreshnessScores scores = freshnessTracker.scoreOrders(shelf);
+
+        assertEquals(3, scores.size());
+        for (int i = 0; i < scores.size(); i++) {
+            String orderId = scores.getOrder(i).getId();
+            if (orderId.equals("room2")) {
+                assertEquals(0.0, scores.getNormalizedFreshness(i), 0.0);
+            } else {
+                assertEquals(1.0, scores.getNormalizedFreshness(i), 0.01);
+                // The hot order has half its shelf life at room temperature
+                long expectedRemaining = orderId.equals("hot1") ? 150_000 : 300_000;
+                assertEquals(expectedRemaining, scores.getRemainingMillis(i), 1_000);
+            }
+        }
+    }
+
+    @Test
+    public void testMoveKeepsFreshnessSpentAtPreviousTemperature() {
+        VirtualClock clock = new VirtualClock();
+        freshnessTracker = new FreshnessTrackerImpl(clock);
+        Order hotOrder = new Order("hot1", "Soup", Temperature.HOT, 2);
+        freshnessTracker.trackOrder(hotOrder, Temperature.ROOM);
+
+        // Decays at twice the rate on the shelf
+        clock.advance(Duration.ofMillis(200));
+        freshnessTracker.trackOrder(hotOrder, Temperature.HOT);
+
+        assertEquals(1_600, freshnessTracker.getRemainingFreshness("hot1", Temperature.HOT));
+        assertEquals(800, freshnessTracker.getRemainingFreshness("hot1", Temperature.ROOM));
+        assertEquals(0.8, freshnessTracker.getNormalizedFreshnessValues().get("hot1"), 1e-9);
+        assertFalse(freshnessTracker.isExpired("hot1", Temperature.HOT));
+
+        clock.advance(Duration.ofMillis(1_600));
+        assertTrue(freshnessTracker.isExpired("hot1", Temperature.HOT));
+        assertTrue(freshnessTracker.getExpiryDeadline("hot1").isPresent());
+        assertFalse(freshnessTracker.getExpiryDeadline("missing").isPresent());
+    }
+}
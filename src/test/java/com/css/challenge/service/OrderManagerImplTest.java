@@ -1,18 +1,24 @@
 package com.css.challenge.service;
 
+import com.css.challenge.clock.Clock;
+import com.css.challenge.clock.VirtualClock;
 import com.css.challenge.domain.Action;
 import com.css.challenge.domain.ActionType;
 import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.domain.StorageType;
 import com.css.challenge.domain.Temperature;
 import com.css.challenge.storage.Kitchen;
+import com.css.challenge.storage.PlacementPolicy;
 import com.css.challenge.storage.StorageUnit;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
 import com.css.challenge.strategy.DiscardStrategy;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -116,21 +122,16 @@ public class OrderManagerImplTest {
         when(mockKitchen.storeOrder(hotOrder, mockHeater)).thenReturn(false);
         when(mockShelf.hasCapacity()).thenReturn(false);
 
-        // Mock the shelf orders
-        Map<String, Order> shelfOrders = new HashMap<>();
-        shelfOrders.put("old1", oldOrder);
-        when(mockShelf.getAllOrders()).thenReturn(shelfOrders);
-
         // Mock move attempt to fail
         when(mockHeater.hasCapacity()).thenReturn(false);
         when(mockCooler.hasCapacity()).thenReturn(false);
 
         // Mock discard strategy to select the old order
-        when(mockDiscardStrategy.selectOrderToDiscard(shelfOrders, mockShelf, mockFreshnessTracker))
+        when(mockDiscardStrategy.selectOrderToDiscard(mockShelf, mockFreshnessTracker))
                 .thenReturn("old1");
 
         // Mock order removal and subsequent placement
-        when(mockKitchen.removeOrder("old1")).thenReturn(Optional.of(oldOrder));
+        when(mockKitchen.removeOrder("old1", RemovalReason.DISCARDED)).thenReturn(Optional.of(oldOrder));
         when(mockKitchen.storeOrder(hotOrder, mockShelf)).thenReturn(true);
 
         // Mock actions
@@ -143,7 +144,7 @@ public class OrderManagerImplTest {
         Action result = orderManager.placeOrder(hotOrder);
 
         // Verify the old order was discarded
-        verify(mockKitchen).removeOrder("old1");
+        verify(mockKitchen).removeOrder("old1", RemovalReason.DISCARDED);
         verify(mockFreshnessTracker).stopTracking("old1");
         verify(mockActionLogger).logAction("old1", ActionType.DISCARD);
 
@@ -162,7 +163,7 @@ public class OrderManagerImplTest {
         Order order = new Order("test1", "Test Order", Temperature.ROOM, 300);
 
         // Mock behavior
-        when(mockKitchen.removeOrder("test1")).thenReturn(Optional.of(order));
+        when(mockKitchen.removeOrder("test1", RemovalReason.PICKED_UP)).thenReturn(Optional.of(order));
 
         // Mock action
         Action pickupAction = new Action(Instant.now(), "test1", ActionType.PICKUP);
@@ -172,7 +173,7 @@ public class OrderManagerImplTest {
         Optional<Order> result = orderManager.pickupOrder("test1");
 
         // Verify the order was removed and tracked
-        verify(mockKitchen).removeOrder("test1");
+        verify(mockKitchen).removeOrder("test1", RemovalReason.PICKED_UP);
         verify(mockFreshnessTracker).stopTracking("test1");
         verify(mockActionLogger).logAction("test1", ActionType.PICKUP);
 
@@ -184,13 +185,13 @@ public class OrderManagerImplTest {
     @Test
     public void testPickupNonExistentOrder() {
         // Mock behavior: order doesn't exist
-        when(mockKitchen.removeOrder("nonexistent")).thenReturn(Optional.empty());
+        when(mockKitchen.removeOrder("nonexistent", RemovalReason.PICKED_UP)).thenReturn(Optional.empty());
 
         // Pickup the order
         Optional<Order> result = orderManager.pickupOrder("nonexistent");
 
         // Verify the order was attempted to be removed
-        verify(mockKitchen).removeOrder("nonexistent");
+        verify(mockKitchen).removeOrder("nonexistent", RemovalReason.PICKED_UP);
 
         // Verify no tracking or logging occurred
         verify(mockFreshnessTracker, never()).stopTracking("nonexistent");
@@ -199,4 +200,87 @@ public class OrderManagerImplTest {
         // Verify the result
         assertFalse(result.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBatchOperationsMatchSequentialOperations() {
+        List<Order> orders = new ArrayList<>();
+        List<String> orderIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Temperature temperature = Temperature.values()[i % Temperature.values().length];
+            orders.add(new Order("order" + i, "Meal", temperature, 300));
+            orderIds.add("order" + (29 - i));
+        }
+
+        // Frozen virtual clocks make freshness, and so the discard choice, identical for both runs
+        Clock sequentialClock = new VirtualClock();
+        ActionLogger sequentialLogger = new ActionLoggerImpl(sequentialClock, false);
+        OrderManager sequential = new OrderManagerImpl(
+                new Kitchen(2, 2, 4),
+                sequentialLogger,
+                new FreshnessTrackerImpl(sequentialClock),
+                new CompositeDiscardStrategy());
+        for (Order order : orders) {
+            sequential.placeOrder(order);
+        }
+        for (String orderId : orderIds) {
+            sequential.pickupOrder(orderId);
+        }
+
+        Clock batchClock = new VirtualClock();
+        ActionLogger batchLogger = new ActionLoggerImpl(batchClock, false);
+        OrderManager batched = new OrderManagerImpl(
+                new Kitchen(2, 2, 4), batchLogger, new FreshnessTrackerImpl(batchClock), new CompositeDiscardStrategy());
+        List<Action> placed = batched.placeOrders(orders);
+        List<Action> pickedUp = batched.pickupOrders(orderIds);
+
+        assertEquals(orders.size(), placed.size());
+        assertEquals("order0", placed.get(0).getId());
+        assertEquals(8, pickedUp.size());
+        assertEquals(describe(sequentialLogger.getAllActions()), describe(batchLogger.getAllActions()));
+    }
+
+    @Test
+    public void testBatchDiscardsFromShelfTheOrderGoesTo() {
+        // The larger shelf is emptier when the batch starts, but the smaller one is chosen once both are full
+        StorageUnit smallShelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 1);
+        StorageUnit largeShelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 2);
+        Kitchen shelvedKitchen = new Kitchen(List.of(
+                new StorageUnit(StorageType.HEATER, Temperature.HOT, 1),
+                new StorageUnit(StorageType.COOLER, Temperature.COLD, 1),
+                smallShelf,
+                largeShelf),
+                PlacementPolicy.LEAST_OCCUPIED);
+        Clock clock = new VirtualClock();
+        ActionLogger logger = new ActionLoggerImpl(clock, false);
+        OrderManager manager = new OrderManagerImpl(
+                shelvedKitchen, logger, new FreshnessTrackerImpl(clock), new CompositeDiscardStrategy());
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            orders.add(new Order("room" + i, "Salad", Temperature.ROOM, 300));
+        }
+        manager.placeOrders(orders);
+
+        // Every placed order that was not discarded is still in a shelf
+        List<String> discarded = new ArrayList<>();
+        for (Action action : logger.getAllActions()) {
+            if (ActionType.DISCARD.getValue().equals(action.getActionType())) {
+                discarded.add(action.getId());
+            }
+        }
+        assertEquals(3, discarded.size());
+        for (Order order : orders) {
+            assertEquals(!discarded.contains(order.getId()), shelvedKitchen.locateOrder(order.getId()) != null);
+        }
+        assertEquals(1, smallShelf.getOrderCount());
+        assertEquals(2, largeShelf.getOrderCount());
+    }
+
+    private static List<String> describe(List<Action> actions) {
+        List<String> descriptions = new ArrayList<>();
+        for (Action action : actions) {
+            descriptions.add(action.getId() + " " + action.getActionType());
+        }
+        return descriptions;
+    }
+}
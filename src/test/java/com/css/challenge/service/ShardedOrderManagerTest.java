@@ -0,0 +1,148 @@
+package com.css.challenge.service;
+
+import com.css.challenge.clock.VirtualClock;
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for ShardedOrderManager.
+ */
+public class ShardedOrderManagerTest {
+
+    @Test
+    public void testShardsHaveIndependentCapacity() {
+        ShardedOrderManager orderManager = ShardedOrderManager.create(
+                4, () -> new Kitchen(1, 1, 1), CompositeDiscardStrategy::new, LockingMode.GLOBAL);
+
+        for (int i = 0; i < 8; i++) {
+            orderManager.placeOrder(new Order("hot" + i, "Pizza", Temperature.HOT, 300));
+        }
+
+        long stored = 0;
+        for (int i = 0; i < 8; i++) {
+            if (orderManager.orderExists("hot" + i)) {
+                stored++;
+                assertTrue(orderManager.pickupOrder("hot" + i).isPresent());
+            }
+        }
+        // A single kitchen holds at most two hot orders, each shard adds its own heater and shelf
+        assertTrue(stored > 2);
+    }
+
+    @Test
+    public void testCustomShardKeyRoutesOrders() {
+        List<OrderManager> shards = new ArrayList<>();
+        List<ActionLogger> shardLoggers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ActionLogger shardLogger = new ActionLoggerImpl();
+            shards.add(new OrderManagerImpl(
+                    new Kitchen(), shardLogger, new FreshnessTrackerImpl(), new CompositeDiscardStrategy()));
+            shardLoggers.add(shardLogger);
+        }
+        ShardedOrderManager orderManager = new ShardedOrderManager(shards, shardLoggers, Order::getName);
+
+        orderManager.placeOrder(new Order("a", "Brand", Temperature.HOT, 300));
+        orderManager.placeOrder(new Order("b", "Brand", Temperature.COLD, 300));
+        orderManager.placeOrder(new Order("c", "Brand", Temperature.ROOM, 300));
+
+        long shardsUsed = shards.stream().filter(shard -> !shard.getAllActions().isEmpty()).count();
+        assertEquals(1, shardsUsed);
+        assertEquals("HEATER", orderManager.getOrderLocation("a").orElse(null));
+        assertTrue(orderManager.pickupOrder("b").isPresent());
+        assertFalse(orderManager.orderExists("b"));
+    }
+
+    @Test
+    public void testCustomShardKeyRoutesRemovedOrders() {
+        ShardedOrderManager orderManager = ShardedOrderManager.create(
+                4, () -> new Kitchen(1, 1, 1), CompositeDiscardStrategy::new, LockingMode.GLOBAL, Order::getName);
+
+        // Names hash to other shards than IDs, and the small kitchens discard some orders
+        for (int i = 0; i < 20; i++) {
+            orderManager.placeOrder(new Order("order" + i, "Brand" + i % 5, Temperature.values()[i % 3], 300));
+        }
+        List<String> discarded = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            if (orderManager.getRemovalReason("order" + i).isPresent()) {
+                assertEquals(Optional.of(RemovalReason.DISCARDED), orderManager.getRemovalReason("order" + i));
+                discarded.add("order" + i);
+            } else {
+                assertTrue(orderManager.orderExists("order" + i));
+            }
+        }
+        assertFalse(discarded.isEmpty());
+
+        for (int i = 0; i < 20; i++) {
+            String orderId = "order" + i;
+            if (!discarded.contains(orderId)) {
+                assertTrue(orderManager.pickupOrder(orderId).isPresent());
+            }
+        }
+
+        // Every removal, whatever its reason, is reported by the shard that made it
+        for (int i = 0; i < 20; i++) {
+            String orderId = "order" + i;
+            RemovalReason expected = discarded.contains(orderId) ? RemovalReason.DISCARDED : RemovalReason.PICKED_UP;
+            assertEquals(Optional.of(expected), orderManager.getRemovalReason(orderId));
+            assertFalse(orderManager.orderExists(orderId));
+            assertFalse(orderManager.getOrderLocation(orderId).isPresent());
+        }
+        assertEquals(0, orderManager.getRoutedOrderCount());
+    }
+
+    @Test
+    public void testMergedActionsAreTimestampOrdered() {
+        ShardedOrderManager orderManager = ShardedOrderManager.create(
+                4, Kitchen::new, CompositeDiscardStrategy::new, LockingMode.STRIPED);
+
+        for (int i = 0; i < 20; i++) {
+            orderManager.placeOrder(new Order("order" + i, "Salad", Temperature.COLD, 300));
+        }
+        for (int i = 19; i >= 0; i--) {
+            orderManager.pickupOrder("order" + i);
+        }
+
+        List<Action> actions = orderManager.getAllActions();
+        assertEquals(40, actions.size());
+        for (int i = 1; i < actions.size(); i++) {
+            assertTrue(actions.get(i - 1).getTimestamp() <= actions.get(i).getTimestamp());
+        }
+        assertEquals(2, orderManager.getActionLogger().getActionsForOrder("order7").size());
+
+        // The merged log is reused until another action is logged
+        assertSame(actions, orderManager.getAllActions());
+        orderManager.placeOrder(new Order("order20", "Salad", Temperature.COLD, 300));
+        assertEquals(41, orderManager.getAllActions().size());
+        assertEquals(41, orderManager.getActionLogger().getActionCount());
+    }
+
+    @Test
+    public void testShardsReadTheGivenClock() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        ShardedOrderManager orderManager = ShardedOrderManager.create(
+                4, Kitchen::new, CompositeDiscardStrategy::new, LockingMode.STRIPED, null,
+                new VirtualClock(start), false);
+
+        for (int i = 0; i < 8; i++) {
+            orderManager.placeOrder(new Order("order" + i, "Salad", Temperature.COLD, 300));
+        }
+
+        // Time stands still on the virtual clock, so every shard stamps the same instant
+        for (Action action : orderManager.getAllActions()) {
+            assertEquals(ChronoUnit.MICROS.between(Instant.EPOCH, start), action.getTimestamp());
+        }
+    }
+}
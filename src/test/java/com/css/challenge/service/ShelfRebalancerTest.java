@@ -0,0 +1,106 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for ShelfRebalancer.
+ */
+public class ShelfRebalancerTest {
+
+    private OrderManagerImpl orderManager;
+    private ShelfRebalancer rebalancer;
+
+    @Before
+    public void setUp() {
+        Kitchen kitchen = new Kitchen(1, 1, 4);
+        FreshnessTracker freshnessTracker = new FreshnessTrackerImpl();
+        orderManager = new OrderManagerImpl(
+                kitchen, new ActionLoggerImpl(false), freshnessTracker, new CompositeDiscardStrategy());
+        rebalancer = new ShelfRebalancer(orderManager, kitchen, freshnessTracker);
+        orderManager.addLifecycleListener(rebalancer);
+    }
+
+    @Test
+    public void testPickupFromHeaterPromotesMostAtRiskShelfOrder() throws InterruptedException {
+        orderManager.placeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300));
+        orderManager.placeOrder(new Order("hot2", "Soup", Temperature.HOT, 300));
+        orderManager.placeOrder(new Order("hot3", "Curry", Temperature.HOT, 60));
+        orderManager.placeOrder(new Order("cold1", "Salad", Temperature.COLD, 300));
+        orderManager.placeOrder(new Order("cold2", "Sushi", Temperature.COLD, 30));
+
+        orderManager.pickupOrder("hot1");
+        rebalancer.close();
+
+        assertEquals(Optional.of("HEATER"), orderManager.getOrderLocation("hot3"));
+        assertEquals(Optional.of("SHELF"), orderManager.getOrderLocation("hot2"));
+        // The cooler never freed up, so cold orders stay where they are
+        assertEquals(Optional.of("SHELF"), orderManager.getOrderLocation("cold2"));
+
+        List<Action> actions = orderManager.getAllActions();
+        Action last = actions.get(actions.size() - 1);
+        assertEquals("move", last.getActionType());
+        assertEquals("hot3", last.getId());
+    }
+
+    @Test
+    public void testShelfPickupDoesNotPromote() throws InterruptedException {
+        orderManager.placeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300));
+        orderManager.placeOrder(new Order("hot2", "Soup", Temperature.HOT, 300));
+        orderManager.placeOrder(new Order("room1", "Bread", Temperature.ROOM, 300));
+
+        orderManager.pickupOrder("room1");
+        rebalancer.close();
+
+        assertEquals(Optional.of("SHELF"), orderManager.getOrderLocation("hot2"));
+    }
+
+    @Test
+    public void testPromotionGivesWayToBusyLocks() throws Exception {
+        Kitchen kitchen = new Kitchen(1, 1, 4);
+        FreshnessTracker freshnessTracker = new FreshnessTrackerImpl();
+        OrderManagerImpl stripedManager = new OrderManagerImpl(
+                kitchen, new ActionLoggerImpl(false), freshnessTracker, new CompositeDiscardStrategy(), LockingMode.STRIPED);
+        ShelfRebalancer stripedRebalancer = new ShelfRebalancer(stripedManager, kitchen, freshnessTracker);
+        stripedManager.placeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300));
+        stripedManager.placeOrder(new Order("hot2", "Soup", Temperature.HOT, 300));
+        stripedManager.pickupOrder("hot1");
+
+        // Another operation holds the heater while the promotion is attempted
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            kitchen.lockUnit(kitchen.getHeater());
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                kitchen.unlockUnit(kitchen.getHeater());
+            }
+        });
+        holder.start();
+        locked.await();
+
+        assertEquals(ShelfRebalancer.Promotion.BUSY, stripedRebalancer.promote(Temperature.HOT));
+        assertEquals(Optional.of("SHELF"), stripedManager.getOrderLocation("hot2"));
+
+        release.countDown();
+        holder.join();
+        assertEquals(ShelfRebalancer.Promotion.MOVED, stripedRebalancer.promote(Temperature.HOT));
+        assertEquals(Optional.of("HEATER"), stripedManager.getOrderLocation("hot2"));
+        stripedRebalancer.close();
+    }
+}
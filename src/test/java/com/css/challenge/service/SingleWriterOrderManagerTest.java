@@ -0,0 +1,95 @@
+package com.css.challenge.service;
+
+import com.css.challenge.domain.Action;
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.Temperature;
+import com.css.challenge.storage.Kitchen;
+import com.css.challenge.storage.SlotLayout;
+import com.css.challenge.strategy.CompositeDiscardStrategy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for SingleWriterOrderManager.
+ */
+public class SingleWriterOrderManagerTest {
+
+    private Kitchen kitchen;
+    private SingleWriterOrderManager orderManager;
+
+    @Before
+    public void setUp() {
+        kitchen = new Kitchen(2, 2, 4, SlotLayout.CONFINED);
+        orderManager = new SingleWriterOrderManager(
+                kitchen, new ActionLoggerImpl(), new FreshnessTrackerImpl(), new CompositeDiscardStrategy(), 4);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        orderManager.close();
+    }
+
+    @Test
+    public void testConcurrentSubmittersNeverOverfillKitchen() throws InterruptedException {
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            submitters.add(new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    Temperature temperature = Temperature.values()[i % Temperature.values().length];
+                    orderManager.placeOrder(new Order(thread + "-" + i, "Meal", temperature, 300));
+                }
+            }));
+        }
+        submitters.forEach(Thread::start);
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertEquals(2, kitchen.getHeater().getOrderCount());
+        assertEquals(2, kitchen.getCooler().getOrderCount());
+        assertEquals(4, kitchen.getShelf().getOrderCount());
+        // 200 placements, and every order beyond the 8 slots forced one discard
+        assertEquals(200 + 192, orderManager.getAllActions().size());
+    }
+
+    @Test
+    public void testAsyncCommandsCompleteInSubmissionOrder() {
+        Order order = new Order("hot1", "Pizza", Temperature.HOT, 300);
+
+        CompletableFuture<Action> placed = orderManager.placeOrderAsync(order);
+        CompletableFuture<Boolean> moved = orderManager.moveOrderAsync("hot1", "HEATER", "SHELF");
+        CompletableFuture<Boolean> discarded = orderManager.discardOrderAsync("hot1");
+
+        assertEquals("place", placed.join().getActionType());
+        assertTrue(moved.join());
+        assertTrue(discarded.join());
+        assertEquals(0, kitchen.getShelf().getOrderCount());
+        assertFalse(orderManager.pickupOrderAsync("hot1").join().isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCommandExceptionsReachCaller() {
+        orderManager.moveOrder("hot1", "OVEN", "SHELF");
+    }
+
+    @Test
+    public void testClosedManagerRejectsCommands() throws InterruptedException {
+        orderManager.close();
+
+        try {
+            orderManager.placeOrderAsync(new Order("hot1", "Pizza", Temperature.HOT, 300)).join();
+            fail("Expected closed order manager to reject the command");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.css.challenge.storage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for BoundedCache.
+ */
+public class BoundedCacheTest {
+
+    @Test
+    public void testOldestEntryIsEvicted() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        assertNull(cache.get("a"));
+        assertEquals(Integer.valueOf(2), cache.get("b"));
+        assertEquals(Integer.valueOf(3), cache.get("c"));
+    }
+
+    @Test
+    public void testEntryPutAgainOutlivesItsOldSlot() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("a", 2);
+
+        // Reusing the first slot leaves the entry that has since moved to the second slot
+        cache.put("b", 3);
+        assertEquals(Integer.valueOf(2), cache.get("a"));
+        assertEquals(Integer.valueOf(3), cache.get("b"));
+
+        cache.remove("a");
+        assertNull(cache.get("a"));
+    }
+}
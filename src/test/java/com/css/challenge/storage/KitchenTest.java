@@ -0,0 +1,137 @@
+package com.css.challenge.storage;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.RemovalReason;
+import com.css.challenge.domain.StorageType;
+import com.css.challenge.domain.Temperature;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for Kitchen.
+ */
+public class KitchenTest {
+
+    private Kitchen kitchen;
+
+    @Before
+    public void setUp() {
+        kitchen = new Kitchen(1, 1, 2);
+    }
+
+    @Test
+    public void testLocationIndexFollowsMoves() {
+        Order hotOrder = new Order("hot1", "Pizza", Temperature.HOT, 300);
+        assertTrue(kitchen.storeOrder(hotOrder, kitchen.getShelf()));
+        assertEquals(Optional.of(kitchen.getShelf()), kitchen.findStorageUnitForOrder("hot1"));
+
+        assertTrue(kitchen.moveOrder("hot1", kitchen.getShelf(), kitchen.getHeater()));
+
+        assertEquals(Optional.of(kitchen.getHeater()), kitchen.findStorageUnitForOrder("hot1"));
+        assertFalse(kitchen.getShelf().containsOrder("hot1"));
+        assertEquals(0, kitchen.getShelf().getOrderCount());
+        assertEquals(1, kitchen.getHeater().getOrderCount());
+    }
+
+    @Test
+    public void testMoveToFullUnitLeavesOrderInPlace() {
+        kitchen.storeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300), kitchen.getHeater());
+        kitchen.storeOrder(new Order("hot2", "Soup", Temperature.HOT, 300), kitchen.getShelf());
+
+        assertFalse(kitchen.moveOrder("hot2", kitchen.getShelf(), kitchen.getHeater()));
+
+        assertEquals(Optional.of(kitchen.getShelf()), kitchen.findStorageUnitForOrder("hot2"));
+        assertTrue(kitchen.getShelf().containsOrder("hot2"));
+    }
+
+    @Test
+    public void testRemovedOrdersLeaveTombstones() {
+        kitchen.storeOrder(new Order("cold1", "Ice Cream", Temperature.COLD, 300), kitchen.getCooler());
+        kitchen.storeOrder(new Order("room1", "Sandwich", Temperature.ROOM, 300), kitchen.getShelf());
+
+        assertTrue(kitchen.removeOrder("cold1", RemovalReason.PICKED_UP).isPresent());
+        assertTrue(kitchen.removeOrder("room1", RemovalReason.DISCARDED).isPresent());
+        assertFalse(kitchen.removeOrder("room1", RemovalReason.PICKED_UP).isPresent());
+
+        assertFalse(kitchen.findStorageUnitForOrder("cold1").isPresent());
+        assertNull(kitchen.locateOrder("room1"));
+        assertEquals(Optional.of(RemovalReason.PICKED_UP), kitchen.getRemovalReason("cold1"));
+        assertEquals(Optional.of(RemovalReason.DISCARDED), kitchen.getRemovalReason("room1"));
+        assertFalse(kitchen.getRemovalReason("unknown").isPresent());
+    }
+
+    @Test
+    public void testPlacingOrderAgainClearsItsTombstone() {
+        kitchen.storeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300), kitchen.getHeater());
+        kitchen.removeOrder("hot1", RemovalReason.DISCARDED);
+
+        kitchen.storeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300), kitchen.getHeater());
+        assertFalse(kitchen.getRemovalReason("hot1").isPresent());
+
+        kitchen.removeOrder("hot1", RemovalReason.PICKED_UP);
+        assertEquals(Optional.of(RemovalReason.PICKED_UP), kitchen.getRemovalReason("hot1"));
+    }
+
+    @Test
+    public void testFailedRemovalLeavesNoTombstone() {
+        kitchen.storeOrder(new Order("cold1", "Ice Cream", Temperature.COLD, 300), kitchen.getCooler());
+
+        // The unit lost the order behind the index's back, so the kitchen removes nothing
+        kitchen.getCooler().removeOrder("cold1");
+
+        assertFalse(kitchen.removeOrder("cold1", RemovalReason.PICKED_UP).isPresent());
+        assertFalse(kitchen.getRemovalReason("cold1").isPresent());
+    }
+
+    @Test
+    public void testLeastOccupiedPlacementSpreadsAcrossUnits() {
+        StorageUnit firstHeater = new StorageUnit(StorageType.HEATER, Temperature.HOT, 2);
+        StorageUnit secondHeater = new StorageUnit(StorageType.HEATER, Temperature.HOT, 2);
+        Kitchen bigKitchen = new Kitchen(List.of(
+                firstHeater,
+                secondHeater,
+                new StorageUnit(StorageType.COOLER, Temperature.COLD, 2),
+                new StorageUnit(StorageType.SHELF, Temperature.ROOM, 2)),
+                PlacementPolicy.LEAST_OCCUPIED);
+
+        for (int i = 0; i < 4; i++) {
+            Order order = new Order("hot" + i, "Pizza", Temperature.HOT, 300);
+            assertTrue(bigKitchen.storeOrder(order, bigKitchen.getIdealStorageUnit(order)));
+        }
+
+        assertEquals(2, firstHeater.getOrderCount());
+        assertEquals(2, secondHeater.getOrderCount());
+        assertFalse(bigKitchen.getHeater().hasCapacity());
+    }
+
+    @Test
+    public void testRoundRobinPlacementSkipsFullUnits() {
+        StorageUnit firstShelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 1);
+        StorageUnit secondShelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 3);
+        Kitchen bigKitchen = new Kitchen(List.of(
+                new StorageUnit(StorageType.HEATER, Temperature.HOT, 1),
+                new StorageUnit(StorageType.COOLER, Temperature.COLD, 1),
+                firstShelf,
+                secondShelf),
+                PlacementPolicy.ROUND_ROBIN);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(bigKitchen.storeOrder(new Order("room" + i, "Sandwich", Temperature.ROOM, 300),
+                    bigKitchen.getShelf()));
+        }
+
+        assertEquals(1, firstShelf.getOrderCount());
+        assertEquals(3, secondShelf.getOrderCount());
+        assertEquals(2, bigKitchen.getStorageUnits(StorageType.SHELF).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKitchenRequiresEveryStorageType() {
+        new Kitchen(List.of(new StorageUnit(StorageType.SHELF, Temperature.ROOM, 1)), PlacementPolicy.LEAST_OCCUPIED);
+    }
+}
@@ -0,0 +1,225 @@
+package com.css.challenge.storage;
+
+import com.css.challenge.domain.Order;
+import com.css.challenge.domain.StorageType;
+import com.css.challenge.domain.Temperature;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit test for StorageUnit.
+ */
+public class StorageUnitTest {
+
+    private StorageUnit shelf;
+
+    @Before
+    public void setUp() {
+        shelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 2);
+    }
+
+    @Test
+    public void testReservationsAreLimitedByCapacity() {
+        assertTrue(shelf.tryReserve());
+        assertTrue(shelf.tryReserve());
+
+        // Reserved slots count against capacity even before an order is committed
+        assertFalse(shelf.hasCapacity());
+        assertFalse(shelf.tryReserve());
+
+        // Committing consumes the remaining reservation rather than taking a new slot
+        shelf.release();
+        assertTrue(shelf.commit(new Order("room1", "Sandwich", Temperature.ROOM, 300)));
+        assertTrue(shelf.containsOrder("room1"));
+        assertEquals(1, shelf.getOrderCount());
+        assertTrue(shelf.hasCapacity());
+    }
+
+    @Test
+    public void testDuplicateOrderReleasesReservation() {
+        Order order = new Order("room1", "Sandwich", Temperature.ROOM, 300);
+
+        assertTrue(shelf.storeOrder(order));
+        assertFalse(shelf.storeOrder(order));
+
+        assertEquals(1, shelf.getOrderCount());
+        assertTrue(shelf.hasCapacity());
+    }
+
+    @Test
+    public void testRemoveOrderFreesSlot() {
+        shelf.storeOrder(new Order("room1", "Sandwich", Temperature.ROOM, 300));
+        shelf.storeOrder(new Order("room2", "Salad", Temperature.ROOM, 300));
+        assertFalse(shelf.hasCapacity());
+
+        assertTrue(shelf.removeOrder("room1").isPresent());
+        assertFalse(shelf.removeOrder("room1").isPresent());
+
+        assertEquals(1, shelf.getOrderCount());
+        assertTrue(shelf.hasCapacity());
+    }
+
+    @Test
+    public void testConcurrentStoresNeverExceedCapacity() throws InterruptedException {
+        StorageUnit heater = new StorageUnit(StorageType.HEATER, Temperature.HOT, 6);
+        int threads = 8;
+        int ordersPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger stored = new AtomicInteger();
+
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < ordersPerThread; i++) {
+                    if (heater.storeOrder(new Order(thread + "-" + i, "Soup", Temperature.HOT, 300))) {
+                        stored.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(6, stored.get());
+        assertEquals(6, heater.getOrderCount());
+        assertEquals(6, heater.getAllOrders().size());
+    }
+
+    @Test
+    public void testConcurrentStoreAndRemoveKeepTemperatureIndex() throws InterruptedException {
+        StorageUnit shelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 1000);
+        int rounds = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Removals race the stores of the same IDs
+        executor.execute(() -> {
+            awaitQuietly(start);
+            for (int i = 0; i < rounds; i++) {
+                shelf.storeOrder(new Order("hot" + i % 50, "Soup", Temperature.HOT, 300));
+            }
+        });
+        executor.execute(() -> {
+            awaitQuietly(start);
+            for (int i = 0; i < rounds; i++) {
+                shelf.removeOrder("hot" + i % 50);
+            }
+        });
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Every stored order is still reachable through the temperature index
+        int remaining = shelf.getOrderCount();
+        for (int i = 0; i < remaining; i++) {
+            Order order = shelf.findAnyOrder(Temperature.HOT).orElseThrow();
+            assertTrue(shelf.removeOrder(order.getId()).isPresent());
+        }
+        assertFalse(shelf.findAnyOrder(Temperature.HOT).isPresent());
+        assertEquals(0, shelf.getAllOrders().size());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testArrayLayoutReusesFreedSlots() {
+        StorageUnit cooler = new StorageUnit(StorageType.COOLER, Temperature.COLD, 3, SlotLayout.ARRAY);
+        cooler.storeOrder(new Order("cold1", "Ice Cream", Temperature.COLD, 300));
+        cooler.storeOrder(new Order("cold2", "Salad", Temperature.COLD, 300));
+        cooler.storeOrder(new Order("cold3", "Sushi", Temperature.COLD, 300));
+        assertFalse(cooler.storeOrder(new Order("cold4", "Gazpacho", Temperature.COLD, 300)));
+
+        assertEquals("Salad", cooler.removeOrder("cold2").orElseThrow().getName());
+        assertTrue(cooler.storeOrder(new Order("cold4", "Gazpacho", Temperature.COLD, 300)));
+
+        assertFalse(cooler.containsOrder("cold2"));
+        assertTrue(cooler.containsOrder("cold1"));
+        assertTrue(cooler.containsOrder("cold3"));
+        assertEquals("Gazpacho", cooler.getOrder("cold4").orElseThrow().getName());
+        assertEquals(3, cooler.getAllOrders().size());
+    }
+
+    @Test
+    public void testArrayLayoutMatchesHashLayoutUnderChurn() {
+        assertMatchesHashLayoutUnderChurn(SlotLayout.ARRAY);
+    }
+
+    @Test
+    public void testConfinedLayoutMatchesHashLayoutUnderChurn() {
+        assertMatchesHashLayoutUnderChurn(SlotLayout.CONFINED);
+    }
+
+    private static void assertMatchesHashLayoutUnderChurn(SlotLayout layout) {
+        int capacity = 40;
+        StorageUnit unit = new StorageUnit(StorageType.SHELF, Temperature.ROOM, capacity, layout);
+        Map<String, Order> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            String orderId = "order-" + random.nextInt(200);
+            if (random.nextBoolean()) {
+                Order order = new Order(orderId, "Order " + i, Temperature.ROOM, 300);
+                boolean shouldStore = expected.size() < capacity && !expected.containsKey(orderId);
+                assertEquals(shouldStore, unit.storeOrder(order));
+                if (shouldStore) {
+                    expected.put(orderId, order);
+                }
+            } else {
+                assertEquals(Optional.ofNullable(expected.remove(orderId)), unit.removeOrder(orderId));
+            }
+        }
+
+        assertEquals(expected, unit.getAllOrders());
+        assertEquals(expected.size(), unit.getOrderCount());
+        for (String orderId : expected.keySet()) {
+            assertTrue(unit.containsOrder(orderId));
+        }
+    }
+
+    @Test
+    public void testFindAnyOrderByTemperature() {
+        for (SlotLayout layout : SlotLayout.values()) {
+            StorageUnit unit = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 4, layout);
+            unit.storeOrder(new Order("hot1", "Pizza", Temperature.HOT, 300));
+            unit.storeOrder(new Order("cold1", "Ice Cream", Temperature.COLD, 300));
+            unit.storeOrder(new Order("hot2", "Soup", Temperature.HOT, 300));
+
+            assertFalse(unit.findAnyOrder(Temperature.ROOM).isPresent());
+            assertEquals("cold1", unit.findAnyOrder(Temperature.COLD).orElseThrow().getId());
+
+            unit.removeOrder("hot2");
+            assertEquals("hot1", unit.findAnyOrder(Temperature.HOT).orElseThrow().getId());
+            unit.removeOrder("hot1");
+            assertFalse(layout + " layout", unit.findAnyOrder(Temperature.HOT).isPresent());
+            assertTrue(unit.findAnyOrder(Temperature.COLD).isPresent());
+        }
+    }
+}
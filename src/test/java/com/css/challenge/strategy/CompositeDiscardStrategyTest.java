@@ -1,7 +1,9 @@
 package com.css.challenge.strategy;
 
 import com.css.challenge.domain.Order;
+import com.css.challenge.domain.StorageType;
 import com.css.challenge.domain.Temperature;
+import com.css.challenge.service.FreshnessScores;
 import com.css.challenge.service.FreshnessTracker;
 import com.css.challenge.storage.StorageUnit;
 import org.junit.Before;
@@ -23,9 +25,7 @@ public class CompositeDiscardStrategyTest {
     private CompositeDiscardStrategy strategy;
     @Mock
     private FreshnessTracker mockFreshnessTracker;
-    @Mock
-    private StorageUnit mockShelf;
-    private Map<String, Order> shelfOrders;
+    private StorageUnit shelf;
     private Map<String, Double> freshnessValues;
 
     @Before
@@ -35,14 +35,10 @@ public class CompositeDiscardStrategyTest {
 
         // Create mocks
         mockFreshnessTracker = mock(FreshnessTracker.class);
-        mockShelf = mock(StorageUnit.class);
 
-        // Prepare test data
-        shelfOrders = new HashMap<>();
+        // Prepare test data on a real room temperature shelf
+        shelf = new StorageUnit(StorageType.SHELF, Temperature.ROOM, 12);
         freshnessValues = new HashMap<>();
-
-        // Set up mock shelf to return ROOM temperature
-        when(mockShelf.getTemperature()).thenReturn(Temperature.ROOM);
     }
 
     @Test
@@ -53,9 +49,9 @@ public class CompositeDiscardStrategyTest {
         Order roomOrder = new Order("room1", "Sandwich", Temperature.ROOM, 600);
 
         // Add orders to shelf
-        shelfOrders.put("hot1", hotOrder);
-        shelfOrders.put("cold1", coldOrder);
-        shelfOrders.put("room1", roomOrder);
+        shelf.storeOrder(hotOrder);
+        shelf.storeOrder(coldOrder);
+        shelf.storeOrder(roomOrder);
 
         // Set up freshness values (0.0 = about to expire, 1.0 = fresh)
         // Without temperature penalty:
@@ -67,19 +63,19 @@ public class CompositeDiscardStrategyTest {
         freshnessValues.put("room1", 0.8);
 
         // Configure mocks
-        when(mockFreshnessTracker.getNormalizedFreshnessValues()).thenReturn(freshnessValues);
+        when(mockFreshnessTracker.scoreOrders(shelf)).thenReturn(scoresFor(freshnessValues));
 
         // With 50% temperature penalty:
         // - hot1 becomes 0.4 * 0.5 = 0.2 (first to expire)
         // - cold1 becomes 0.3 * 0.5 = 0.15 (now first to expire with penalty)
         // - room1 stays at 0.8 (last to expire)
-        String result = strategy.selectOrderToDiscard(shelfOrders, mockShelf, mockFreshnessTracker);
+        String result = strategy.selectOrderToDiscard(shelf, mockFreshnessTracker);
 
         // Cold order should be selected due to lowest adjusted freshness
         assertEquals("cold1", result);
 
         // Verify that the freshness tracker was called
-        verify(mockFreshnessTracker).getNormalizedFreshnessValues();
+        verify(mockFreshnessTracker).scoreOrders(shelf);
     }
 
     @Test
@@ -90,9 +86,9 @@ public class CompositeDiscardStrategyTest {
         Order order3 = new Order("room3", "Sandwich 3", Temperature.ROOM, 180);
 
         // Add orders to shelf
-        shelfOrders.put("room1", order1);
-        shelfOrders.put("room2", order2);
-        shelfOrders.put("room3", order3);
+        shelf.storeOrder(order1);
+        shelf.storeOrder(order2);
+        shelf.storeOrder(order3);
 
         // Set up freshness values
         freshnessValues.put("room1", 0.5);
@@ -100,10 +96,10 @@ public class CompositeDiscardStrategyTest {
         freshnessValues.put("room3", 0.2); // Least fresh
 
         // Configure mocks
-        when(mockFreshnessTracker.getNormalizedFreshnessValues()).thenReturn(freshnessValues);
+        when(mockFreshnessTracker.scoreOrders(shelf)).thenReturn(scoresFor(freshnessValues));
 
         // Execute strategy
-        String result = strategy.selectOrderToDiscard(shelfOrders, mockShelf, mockFreshnessTracker);
+        String result = strategy.selectOrderToDiscard(shelf, mockFreshnessTracker);
 
         // Least fresh order should be selected since no temperature penalty applies
         assertEquals("room3", result);
@@ -116,18 +112,54 @@ public class CompositeDiscardStrategyTest {
         Order coldOrder = new Order("cold1", "Ice Cream", Temperature.COLD, 60);
 
         // Add orders to shelf
-        shelfOrders.put("hot1", hotOrder);
-        shelfOrders.put("cold1", coldOrder);
+        shelf.storeOrder(hotOrder);
+        shelf.storeOrder(coldOrder);
 
-        // Return empty freshness values (simulating new orders not yet tracked)
-        when(mockFreshnessTracker.getNormalizedFreshnessValues()).thenReturn(new HashMap<>());
+        // Return zero freshness values (simulating new orders not yet tracked)
+        when(mockFreshnessTracker.scoreOrders(shelf)).thenReturn(scoresFor(new HashMap<>()));
 
         // Execute strategy
-        String result = strategy.selectOrderToDiscard(shelfOrders, mockShelf, mockFreshnessTracker);
+        String result = strategy.selectOrderToDiscard(shelf, mockFreshnessTracker);
 
         // Should not crash and should return one of the orders
         // (In our implementation, with 0.0 default freshness, it would pick either hot1 or cold1
         // depending on which one is processed first, but both would have the same adjusted score of 0.0)
         assertTrue(result.equals("hot1") || result.equals("cold1"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBatchSelectionsFollowShelfChanges() {
+        shelf.storeOrder(new Order("hot1", "Hot Pizza", Temperature.HOT, 120));
+        shelf.storeOrder(new Order("cold1", "Ice Cream", Temperature.COLD, 60));
+        shelf.storeOrder(new Order("room1", "Sandwich", Temperature.ROOM, 600));
+        when(mockFreshnessTracker.getNormalizedFreshness("hot1")).thenReturn(0.4);
+        when(mockFreshnessTracker.getNormalizedFreshness("cold1")).thenReturn(0.3);
+        when(mockFreshnessTracker.getNormalizedFreshness("room1")).thenReturn(0.35);
+        when(mockFreshnessTracker.getNormalizedFreshness("room2")).thenReturn(0.1);
+
+        DiscardBatch discards = strategy.startBatch(shelf, mockFreshnessTracker);
+
+        // Same penalized ranking as a single selection: cold1 (0.15), hot1 (0.2), then room1 (0.35)
+        assertEquals("cold1", discards.selectOrderToDiscard());
+        shelf.removeOrder("cold1");
+        shelf.storeOrder(new Order("room2", "Salad", Temperature.ROOM, 300));
+        assertEquals("room2", discards.selectOrderToDiscard());
+        shelf.removeOrder("room2");
+
+        // An order moved off the shelf during the batch is no longer a candidate
+        shelf.removeOrder("hot1");
+        assertEquals("room1", discards.selectOrderToDiscard());
+
+        // Selections stream the shelf instead of copying its scores
+        verify(mockFreshnessTracker, never()).scoreOrders(shelf);
+    }
+
+    /**
+     * Scores the shelf orders with the given normalized freshness values, defaulting to 0.
+     */
+    private FreshnessScores scoresFor(Map<String, Double> values) {
+        FreshnessScores scores = new FreshnessScores(shelf.getOrderCount());
+        shelf.forEachOrder(order -> scores.add(order, 0, values.getOrDefault(order.getId(), 0.0)));
+        return scores;
+    }
+}